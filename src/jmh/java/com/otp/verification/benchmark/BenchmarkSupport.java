@@ -0,0 +1,34 @@
+package com.otp.verification.benchmark;
+
+import com.otp.verification.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Field;
+
+public final class BenchmarkSupport {
+
+    public static final String JWT_SECRET = "VmVyeVNlY3VyZVRva2VuS2V5Rm9yTXlPVFBBcHAxMjM0NTY3ODkwMTIzNDU2Nw==";
+    public static final long JWT_EXPIRATION_MS = 86400000L;
+
+    private BenchmarkSupport() {
+    }
+
+    public static JwtUtil newJwtUtil(int verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        setField(jwtUtil, "jwtSecret", JWT_SECRET);
+        setField(jwtUtil, "jwtExpiration", JWT_EXPIRATION_MS);
+        setField(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set field " + name, e);
+        }
+    }
+}
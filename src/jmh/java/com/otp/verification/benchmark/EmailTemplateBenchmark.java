@@ -0,0 +1,68 @@
+package com.otp.verification.benchmark;
+
+import com.otp.verification.mail.template.EmailTemplate;
+import com.otp.verification.mail.template.EmailTemplateEngine;
+import com.otp.verification.mail.template.OtpEmail;
+import com.otp.verification.mail.template.RenderedEmail;
+import com.otp.verification.mail.template.WelcomeEmail;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EmailTemplateBenchmark {
+
+    private final StringBuilder buffer = new StringBuilder(2048);
+    private EmailTemplate<OtpEmail> otpTemplate;
+    private EmailTemplate<WelcomeEmail> welcomeTemplate;
+    private OtpEmail otpEmail;
+    private WelcomeEmail welcomeEmail;
+
+    @Setup
+    public void setUp() {
+        EmailTemplateEngine engine = new EmailTemplateEngine("classpath*:templates/email/", true,
+                List.of(OtpEmail.TEMPLATE, WelcomeEmail.TEMPLATE));
+        otpTemplate = engine.template(OtpEmail.TEMPLATE, Locale.ENGLISH);
+        welcomeTemplate = engine.template(WelcomeEmail.TEMPLATE, Locale.ENGLISH);
+        otpEmail = new OtpEmail("482913", 15);
+        welcomeEmail = new WelcomeEmail("Bench <User>");
+    }
+
+    @Benchmark
+    public int renderOtpPartsIntoBuffer() {
+        buffer.setLength(0);
+        otpTemplate.subject().renderTo(otpEmail, buffer);
+        otpTemplate.text().renderTo(otpEmail, buffer);
+        otpTemplate.html().renderTo(otpEmail, buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public RenderedEmail renderOtpEmail() {
+        return otpTemplate.render(otpEmail);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public RenderedEmail renderOtpEmailContended() {
+        return otpTemplate.render(otpEmail);
+    }
+
+    @Benchmark
+    public RenderedEmail renderWelcomeEmailEscaped() {
+        return welcomeTemplate.render(welcomeEmail);
+    }
+
+    @Benchmark
+    public String concatenatedOtpTextBaseline() {
+        return "Your OTP is: " + otpEmail.otp() + "\n\nThis OTP will expire in " + otpEmail.expiryMinutes()
+                + " minutes.\n\nIf you did not request this OTP, please ignore this email.";
+    }
+}
@@ -0,0 +1,39 @@
+package com.otp.verification.benchmark;
+
+import com.otp.verification.util.OtpUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OtpUtilBenchmark {
+
+    private final OtpUtil otpUtil = new OtpUtil();
+
+    @Benchmark
+    @Threads(1)
+    public String generateOtpSingleThread() {
+        return otpUtil.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateOtpContended() {
+        return otpUtil.generateOtp();
+    }
+
+    @Benchmark
+    public boolean isValidOtpAccepted() {
+        return otpUtil.isValidOtp("123456");
+    }
+
+    @Benchmark
+    public boolean isValidOtpRejected() {
+        return otpUtil.isValidOtp("12a456");
+    }
+}
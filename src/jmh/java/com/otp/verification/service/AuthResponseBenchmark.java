@@ -0,0 +1,54 @@
+package com.otp.verification.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.otp.verification.dto.AuthResponse;
+import com.otp.verification.dto.UserDto;
+import com.otp.verification.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AuthResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private AuthResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        user = User.builder()
+                .id(42L)
+                .email("bench@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .firstName("Bench")
+                .lastName("User")
+                .emailVerified(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+        response = AuthResponse.builder()
+                .message("Login successful")
+                .success(true)
+                .token("eyJhbGciOiJIUzI1NiJ9.eyJlbWFpbCI6ImJlbmNoQGV4YW1wbGUuY29tIn0.signature")
+                .user(AuthServiceImpl.mapUserToDto(user))
+                .build();
+    }
+
+    @Benchmark
+    public UserDto mapUserToDto() {
+        return AuthServiceImpl.mapUserToDto(user);
+    }
+
+    @Benchmark
+    public String serializeAuthResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(response);
+    }
+}
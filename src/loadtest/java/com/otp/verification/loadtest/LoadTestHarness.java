@@ -0,0 +1,244 @@
+package com.otp.verification.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.otp.verification.OtpVerificationApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.reactive.context.ReactiveWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives register -> request-otp -> verify-otp -> login with concurrent virtual users against the
+ * application booted on H2 and {@link FakeSmtpServer}, then writes a JSON report with req/s and
+ * p50/p95/p99 per endpoint.
+ *
+ * <p>Settings (system properties): loadtest.users, loadtest.iterations, loadtest.smtp-connect-latency-ms,
+ * loadtest.smtp-latency-ms, loadtest.otp-timeout-ms, loadtest.report, loadtest.max-p95-ms.
+ */
+public class LoadTestHarness {
+
+    private static final String[] ENDPOINTS = {"register", "request-otp", "verify-otp", "login"};
+    private static final Pattern OTP_PATTERN = Pattern.compile("(?<!\\d)(\\d{6})(?!\\d)");
+
+    private final int users = Integer.getInteger("loadtest.users", 20);
+    private final int iterations = Integer.getInteger("loadtest.iterations", 25);
+    private final long smtpConnectLatencyMs = Long.getLong("loadtest.smtp-connect-latency-ms", 0L);
+    private final long smtpLatencyMs = Long.getLong("loadtest.smtp-latency-ms", 200L);
+    private final long otpTimeoutMs = Long.getLong("loadtest.otp-timeout-ms", 30_000L);
+    private final String reportPath = System.getProperty("loadtest.report", "target/loadtest-report.json");
+    private final long maxP95Ms = Long.getLong("loadtest.max-p95-ms", 0L);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        int exitCode = new LoadTestHarness().run();
+        System.exit(exitCode);
+    }
+
+    int run() throws Exception {
+        for (String endpoint : ENDPOINTS) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        try (FakeSmtpServer smtpServer = new FakeSmtpServer(smtpConnectLatencyMs, smtpLatencyMs)) {
+            SpringApplication application = new SpringApplication(OtpVerificationApplication.class);
+            application.setAdditionalProfiles("loadtest");
+
+            try (ConfigurableApplicationContext context = application.run("--spring.mail.port=" + smtpServer.getPort())) {
+                String basePath = context instanceof ReactiveWebApplicationContext
+                        ? context.getEnvironment().getProperty("spring.webflux.base-path", "")
+                        : context.getEnvironment().getProperty("server.servlet.context-path", "");
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                        + basePath + "/v1/auth";
+
+                String runId = Long.toString(System.currentTimeMillis(), 36);
+                long startedAt = System.nanoTime();
+                runVirtualUsers(runId, smtpServer);
+                double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+                Map<String, Object> report = buildReport(elapsedSeconds, smtpServer);
+                File reportFile = new File(reportPath);
+                if (reportFile.getParentFile() != null) {
+                    reportFile.getParentFile().mkdirs();
+                }
+                objectMapper.writeValue(reportFile, report);
+                System.out.println(objectMapper.writeValueAsString(report));
+                return checkThresholds(report);
+            }
+        }
+    }
+
+    private void runVirtualUsers(String runId, FakeSmtpServer smtpServer) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        CountDownLatch done = new CountDownLatch(users);
+        for (int vu = 0; vu < users; vu++) {
+            int userIndex = vu;
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        runFlow("vu" + userIndex + "-" + i + "-" + runId + "@loadtest.local", smtpServer);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private void runFlow(String email, FakeSmtpServer smtpServer) {
+        String password = "loadtest-password";
+        String registerBody = "{\"email\":\"" + email + "\",\"password\":\"" + password
+                + "\",\"firstName\":\"Load\",\"lastName\":\"Test\"}";
+        if (!call("register", post("/register", registerBody))) {
+            return;
+        }
+        JsonNode otpResponse = callForJson("request-otp", post("/request-otp?email=" + encode(email), null));
+        if (otpResponse == null) {
+            return;
+        }
+
+        String otp = awaitOtp(email, smtpServer);
+        if (otp == null) {
+            stats.get("verify-otp").record(0, false);
+            return;
+        }
+        String verifyBody = "{\"email\":\"" + email + "\",\"otp\":\"" + otp
+                + "\",\"token\":\"" + otpResponse.path("token").asText() + "\"}";
+        if (!call("verify-otp", post("/verify-otp", verifyBody))) {
+            return;
+        }
+        call("login", post("/login?email=" + encode(email) + "&password=" + encode(password), null));
+    }
+
+    private boolean call(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (Exception e) {
+            success = false;
+        }
+        stats.get(endpoint).record(System.nanoTime() - start, success);
+        return success;
+    }
+
+    private JsonNode callForJson(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        JsonNode body = null;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() < 400) {
+                body = objectMapper.readTree(response.body());
+            }
+        } catch (Exception e) {
+            body = null;
+        }
+        stats.get(endpoint).record(System.nanoTime() - start, body != null);
+        return body;
+    }
+
+    private HttpRequest post(String path, String jsonBody) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (jsonBody == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+    }
+
+    private String awaitOtp(String email, FakeSmtpServer smtpServer) {
+        long deadline = System.currentTimeMillis() + otpTimeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            String message = smtpServer.pollLatestMessage(email);
+            if (message != null) {
+                int bodyStart = message.indexOf("\n\n");
+                Matcher matcher = OTP_PATTERN.matcher(bodyStart >= 0 ? message.substring(bodyStart) : message);
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> buildReport(double elapsedSeconds, FakeSmtpServer smtpServer) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", users);
+        settings.put("iterations", iterations);
+        settings.put("smtpConnectLatencyMs", smtpConnectLatencyMs);
+        settings.put("smtpLatencyMs", smtpLatencyMs);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint, endpointStats.summarize(elapsedSeconds)));
+
+        Map<String, Object> smtp = new LinkedHashMap<>();
+        smtp.put("sessions", smtpServer.getSessionCount());
+        smtp.put("messages", smtpServer.getMessageCount());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("settings", settings);
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 100.0) / 100.0);
+        report.put("endpoints", endpoints);
+        report.put("smtp", smtp);
+        return report;
+    }
+
+    private int checkThresholds(Map<String, Object> report) {
+        JsonNode endpoints = objectMapper.valueToTree(report).get("endpoints");
+        int exitCode = 0;
+        for (String endpoint : ENDPOINTS) {
+            JsonNode summary = endpoints.get(endpoint);
+            if (summary.get("errors").asLong() > 0) {
+                System.err.println(endpoint + ": " + summary.get("errors").asLong() + " failed requests");
+                exitCode = 1;
+            }
+            if (maxP95Ms > 0 && summary.get("p95Ms").asDouble() > maxP95Ms) {
+                System.err.println(endpoint + ": p95 " + summary.get("p95Ms").asDouble() + " ms exceeds " + maxP95Ms + " ms");
+                exitCode = 1;
+            }
+        }
+        return exitCode;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
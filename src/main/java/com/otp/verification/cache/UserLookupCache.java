@@ -0,0 +1,185 @@
+package com.otp.verification.cache;
+
+import com.otp.verification.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Near-cache of user lookups keyed by normalized email. Hits are served for {@code ttl-ms}, misses are remembered
+ * for the shorter {@code negative-ttl-ms} so enumeration floods against unknown addresses stay off the database.
+ * Loads that race with an invalidation are not stored.
+ */
+@Component
+public class UserLookupCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+    private final List<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UserLookupCache(UserRepository userRepository,
+                           @Value("${user.cache.enabled:true}") boolean enabled,
+                           @Value("${user.cache.max-entries:10000}") int maxEntries,
+                           @Value("${user.cache.ttl-ms:60000}") long ttlMs,
+                           @Value("${user.cache.negative-ttl-ms:5000}") long negativeTtlMs) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.negativeTtlMs = negativeTtlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Optional<UserSummary> findByEmail(String email) {
+        if (!enabled) {
+            misses.incrementAndGet();
+            return userRepository.findSummaryByEmail(normalize(email));
+        }
+
+        String key = normalize(email);
+        long now = System.currentTimeMillis();
+        long generation;
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAtMs > now) {
+                (entry.user == null ? negativeHits : hits).incrementAndGet();
+                return Optional.ofNullable(entry.user);
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            generation = invalidations.get();
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        // load by the cache key itself, so an entry never holds a row found under a different spelling
+        Optional<UserSummary> loaded = userRepository.findSummaryByEmail(key);
+        long expiresAtMs = now + (loaded.isPresent() ? ttlMs : negativeTtlMs);
+
+        lock.lock();
+        try {
+            if (invalidations.get() == generation) {
+                entries.put(key, new Entry(loaded.orElse(null), expiresAtMs));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction completes, so a concurrent reader cannot
+     * re-cache the pre-commit row.
+     */
+    public void invalidate(String email) {
+        String key = normalize(email);
+        evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(key);
+                    notifyListeners(key);
+                }
+            });
+        } else {
+            notifyListeners(key);
+        }
+    }
+
+    /**
+     * Drops the entry without notifying listeners; used for invalidations that arrive from other nodes.
+     */
+    public void evictLocally(String email) {
+        evict(normalize(email));
+    }
+
+    /**
+     * Called with the normalized email after each {@link #invalidate} has taken effect locally.
+     */
+    public void addInvalidationListener(Consumer<String> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.cache.requests", hits, AtomicLong::get)
+                .description("User lookups by cache outcome")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("user.cache.requests", negativeHits, AtomicLong::get)
+                .description("User lookups by cache outcome")
+                .tag("result", "negative_hit")
+                .register(registry);
+        FunctionCounter.builder("user.cache.requests", misses, AtomicLong::get)
+                .description("User lookups by cache outcome")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("user.cache.size", this, UserLookupCache::size)
+                .description("Cached user lookups, including negative entries")
+                .register(registry);
+    }
+
+    private void evict(String key) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void notifyListeners(String key) {
+        for (Consumer<String> listener : invalidationListeners) {
+            listener.accept(key);
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(UserSummary user, long expiresAtMs) {
+    }
+}
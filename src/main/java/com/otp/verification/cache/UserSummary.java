@@ -0,0 +1,8 @@
+package com.otp.verification.cache;
+
+/**
+ * Immutable slice of {@link com.otp.verification.entity.User} needed by the auth flows; safe to share from the cache.
+ */
+public record UserSummary(Long id, String email, String passwordHash, String firstName, String lastName,
+                          boolean emailVerified) {
+}
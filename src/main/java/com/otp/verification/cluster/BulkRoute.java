@@ -0,0 +1,11 @@
+package com.otp.verification.cluster;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bulk batch split by owner: {@code local} is issued on this node (including entries that are not valid emails,
+ * so they are reported here), {@code remote} is forwarded to each owning member.
+ */
+public record BulkRoute(List<String> local, Map<ClusterMember, List<String>> remote) {
+}
@@ -0,0 +1,46 @@
+package com.otp.verification.cluster;
+
+import com.otp.verification.cache.UserLookupCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts every committed {@link UserLookupCache} invalidation and applies the ones other nodes publish, so a
+ * registration or verification on one node is not masked by a stale entry on another for up to {@code ttl-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+@Slf4j
+public class ClusterCacheInvalidator {
+
+    private final UserLookupCache userLookupCache;
+    private final ClusterTransport transport;
+    private final String nodeId;
+
+    public ClusterCacheInvalidator(UserLookupCache userLookupCache,
+                                   ClusterTransport transport,
+                                   @Value("${cluster.node-id:node-1}") String nodeId) {
+        this.userLookupCache = userLookupCache;
+        this.transport = transport;
+        this.nodeId = nodeId;
+        userLookupCache.addInvalidationListener(this::publish);
+        transport.subscribe(this::onEvent);
+    }
+
+    private void publish(String email) {
+        try {
+            transport.publish(new ClusterEvent(ClusterEvent.Type.USER_INVALIDATED, email, nodeId));
+        } catch (RuntimeException e) {
+            // other nodes fall back to the cache ttl for this entry
+            log.warn("Failed to publish user cache invalidation", e);
+        }
+    }
+
+    private void onEvent(ClusterEvent event) {
+        if (event.type() == ClusterEvent.Type.USER_INVALIDATED && !nodeId.equals(event.originNode())) {
+            userLookupCache.evictLocally(event.key());
+        }
+    }
+}
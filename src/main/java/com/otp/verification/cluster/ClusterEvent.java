@@ -0,0 +1,9 @@
+package com.otp.verification.cluster;
+
+public record ClusterEvent(Type type, String key, String originNode) {
+
+    public enum Type {
+        HEARTBEAT,
+        USER_INVALIDATED
+    }
+}
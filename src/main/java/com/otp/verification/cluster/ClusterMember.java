@@ -0,0 +1,7 @@
+package com.otp.verification.cluster;
+
+/**
+ * A configured node; {@code url} is its API base (including the context path) used to forward OTP calls.
+ */
+public record ClusterMember(String id, String url, boolean local) {
+}
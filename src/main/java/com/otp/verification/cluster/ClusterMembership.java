@@ -0,0 +1,127 @@
+package com.otp.verification.cluster;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which configured members are alive from their heartbeats and assigns every email to one live owner on a
+ * consistent-hash ring. Members start out presumed alive so a restarting node agrees with the others straight
+ * away; one that stays silent for {@code member-timeout-ms} drops out and its emails move to the remaining nodes.
+ * With {@code cluster.enabled=false} the ring holds only this node.
+ */
+@Component
+@Slf4j
+public class ClusterMembership {
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final Map<String, ClusterMember> members = new LinkedHashMap<>();
+    private final int virtualNodes;
+    private final long memberTimeoutMs;
+    private final Optional<ClusterTransport> transport;
+    private final Map<String, Long> lastHeartbeats = new ConcurrentHashMap<>();
+    private volatile List<String> liveMembers;
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(Optional<ClusterTransport> transport,
+                             MeterRegistry meterRegistry,
+                             @Value("${cluster.enabled:false}") boolean enabled,
+                             @Value("${cluster.node-id:node-1}") String nodeId,
+                             @Value("${cluster.members:}") List<String> members,
+                             @Value("${cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${cluster.member-timeout-ms:10000}") long memberTimeoutMs) {
+        this.enabled = enabled;
+        this.nodeId = nodeId;
+        this.virtualNodes = virtualNodes;
+        this.memberTimeoutMs = memberTimeoutMs;
+        this.transport = transport;
+
+        for (String member : members) {
+            String[] parts = member.split("=", 2);
+            if (parts.length != 2 || parts[0].isBlank()) {
+                throw new IllegalArgumentException("cluster.members entries must be id=url, got: " + member);
+            }
+            String id = parts[0].trim();
+            this.members.put(id, new ClusterMember(id, stripTrailingSlash(parts[1].trim()), id.equals(nodeId)));
+        }
+        this.members.putIfAbsent(nodeId, new ClusterMember(nodeId, null, true));
+
+        long now = System.currentTimeMillis();
+        this.members.keySet().forEach(id -> lastHeartbeats.put(id, now));
+        refresh(now);
+        transport.ifPresent(t -> t.subscribe(this::onEvent));
+
+        Gauge.builder("cluster.members.live", this, membership -> membership.liveMembers.size())
+                .description("Cluster members currently owning part of the hash ring")
+                .register(meterRegistry);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isMember(String id) {
+        return members.containsKey(id);
+    }
+
+    public ClusterMember owner(String email) {
+        return members.get(ring.owner(email.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    public List<String> liveMembers() {
+        return liveMembers;
+    }
+
+    @Scheduled(fixedRateString = "${cluster.heartbeat-interval-ms:2000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        transport.ifPresent(t -> t.publish(new ClusterEvent(ClusterEvent.Type.HEARTBEAT, null, nodeId)));
+        refresh(System.currentTimeMillis());
+    }
+
+    void onEvent(ClusterEvent event) {
+        if (event.type() != ClusterEvent.Type.HEARTBEAT || !members.containsKey(event.originNode())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastHeartbeats.put(event.originNode(), now);
+        if (!liveMembers.contains(event.originNode())) {
+            refresh(now);
+        }
+    }
+
+    private synchronized void refresh(long now) {
+        lastHeartbeats.put(nodeId, now);
+        List<String> live = members.keySet().stream()
+                .filter(id -> now - lastHeartbeats.getOrDefault(id, 0L) <= memberTimeoutMs)
+                .toList();
+        if (!live.equals(liveMembers)) {
+            if (liveMembers != null) {
+                log.info("Cluster membership changed: {} -> {}", liveMembers, live);
+            }
+            ring = new ConsistentHashRing(live, virtualNodes);
+            liveMembers = live;
+        }
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
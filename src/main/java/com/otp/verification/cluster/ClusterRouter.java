@@ -0,0 +1,281 @@
+package com.otp.verification.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.otp.verification.dto.BulkOtpRequest;
+import com.otp.verification.dto.BulkOtpResult;
+import com.otp.verification.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Sends request-otp, verify-otp and each owner's share of a bulk batch to the node that owns the email, so OTP state,
+ * the stateless replay set and the per-email rate limits all live on one node however the balancer spreads the calls. Forwarded calls carry
+ * {@link #FORWARDED_HEADER} and are always handled where they land, which rules out forwarding loops while
+ * membership views differ between nodes. Because that also skips forwarding, the headers are signed with
+ * {@code cluster.secret} over the sending member, a timestamp, the endpoint, the email (or the batch's emails) and
+ * the caller's address;
+ * a call whose signature, member or timestamp does not check out is treated as an ordinary client call.
+ */
+@Component
+@Slf4j
+public class ClusterRouter {
+
+    public static final String BULK_PATH = "/v1/auth/request-otp/bulk";
+    public static final String FORWARDED_HEADER = "X-Cluster-Forwarded-By";
+    public static final String FORWARDED_AT_HEADER = "X-Cluster-Forwarded-At";
+    public static final String CLIENT_IP_HEADER = "X-Cluster-Client-Ip";
+    public static final String SIGNATURE_HEADER = "X-Cluster-Signature";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ClusterMembership membership;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration forwardTimeout;
+    private final Counter forwarded;
+    private final Counter forwardFailures;
+    private final Counter forwardsRejected;
+    private final long maxSkewMs;
+    private final ThreadLocal<Mac> mac;
+
+    public ClusterRouter(ClusterMembership membership,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${cluster.forward-timeout-ms:5000}") long forwardTimeoutMs,
+                         @Value("${cluster.secret:}") String secret,
+                         @Value("${cluster.forward-max-skew-ms:30000}") long maxSkewMs) {
+        if (membership.isEnabled() && secret.isBlank()) {
+            throw new IllegalStateException("cluster.secret must be set when cluster.enabled=true");
+        }
+        this.membership = membership;
+        this.objectMapper = objectMapper;
+        this.maxSkewMs = maxSkewMs;
+        this.forwardTimeout = Duration.ofMillis(forwardTimeoutMs);
+        SecretKeySpec key = new SecretKeySpec(("cluster:" + secret).getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(forwardTimeout)
+                .build();
+        this.forwarded = Counter.builder("cluster.forwarded")
+                .description("OTP calls forwarded to the owning node")
+                .tag("outcome", "SUCCESS")
+                .register(meterRegistry);
+        this.forwardFailures = Counter.builder("cluster.forwarded")
+                .description("OTP calls forwarded to the owning node")
+                .tag("outcome", "FAILED")
+                .register(meterRegistry);
+        this.forwardsRejected = Counter.builder("cluster.forward.rejected")
+                .description("Calls carrying cluster forwarding headers that failed authentication")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The forwarding member and original caller when {@code headers} hold a valid signature for a call to
+     * {@code path} about {@code email}; empty for client calls, including ones with forged or stale headers.
+     */
+    public Optional<ForwardedCall> authenticate(String path, String email, Function<String, String> headers) {
+        String nodeId = headers.apply(FORWARDED_HEADER);
+        if (nodeId == null) {
+            return Optional.empty();
+        }
+        if (membership.isEnabled() && email != null && membership.isMember(nodeId)
+                && !nodeId.equals(membership.nodeId())) {
+            String timestamp = headers.apply(FORWARDED_AT_HEADER);
+            String clientIp = headers.apply(CLIENT_IP_HEADER);
+            String signature = headers.apply(SIGNATURE_HEADER);
+            if (timestamp != null && signature != null && isFresh(timestamp)
+                    && MessageDigest.isEqual(decode(signature), sign(nodeId, timestamp, path, email, clientIp))) {
+                return Optional.of(new ForwardedCall(nodeId, clientIp));
+            }
+        }
+        forwardsRejected.increment();
+        log.debug("Ignoring unauthenticated cluster forwarding headers from node '{}' on {}", nodeId, path);
+        return Optional.empty();
+    }
+
+    /**
+     * The owner of {@code email} when it is another node and the call has not been forwarded already.
+     */
+    public Optional<ClusterMember> remoteOwner(String email, Optional<ForwardedCall> forwardedCall) {
+        if (!membership.isEnabled() || forwardedCall.isPresent() || email == null) {
+            return Optional.empty();
+        }
+        ClusterMember owner = membership.owner(email);
+        return owner.local() || owner.url() == null ? Optional.empty() : Optional.of(owner);
+    }
+
+    /**
+     * Splits a bulk batch so every email is issued on its owner, which holds its OTP state and per-email limits.
+     * A forwarded batch, or any batch with clustering off, stays entirely local.
+     */
+    public BulkRoute routeBulk(List<String> emails, Optional<ForwardedCall> forwardedCall) {
+        if (!membership.isEnabled() || forwardedCall.isPresent()) {
+            return new BulkRoute(emails, Map.of());
+        }
+        List<String> local = new ArrayList<>();
+        Map<ClusterMember, List<String>> remote = new LinkedHashMap<>();
+        for (String email : emails) {
+            Optional<ClusterMember> owner = email == null || email.isBlank() || !email.contains("@")
+                    ? Optional.empty()
+                    : remoteOwner(email, forwardedCall);
+            if (owner.isPresent()) {
+                remote.computeIfAbsent(owner.get(), member -> new ArrayList<>()).add(email);
+            } else {
+                local.add(email);
+            }
+        }
+        return new BulkRoute(local, remote);
+    }
+
+    /**
+     * The value a forwarded bulk batch is signed over in place of a single email.
+     */
+    public static String bulkKey(List<String> emails) {
+        return emails == null ? null : String.join("\n", emails);
+    }
+
+    /**
+     * Forwards one owner's share of a bulk batch. Never fails: if the owner cannot be reached or rejects the
+     * batch, every email in it is reported as {@code FAILED}.
+     */
+    public CompletableFuture<List<BulkOtpResult>> forwardBulkAsync(ClusterMember owner, List<String> emails,
+                                                                   String clientIp, String authorization) {
+        return forwardAsync(owner, BULK_PATH, bulkKey(emails), new BulkOtpRequest(emails), clientIp, authorization)
+                .handle((response, e) -> {
+                    if (e == null && response.status() == 200) {
+                        try {
+                            return parseResults(response.body());
+                        } catch (IOException parseFailure) {
+                            log.warn("Unreadable bulk response from cluster node {}: {}", owner.id(), parseFailure.toString());
+                        }
+                    } else if (e == null) {
+                        log.warn("Cluster node {} answered a forwarded bulk batch with {}", owner.id(), response.status());
+                    }
+                    return emails.stream()
+                            .map(email -> BulkOtpResult.builder().email(email).status(BulkOtpResult.Status.FAILED).build())
+                            .toList();
+                });
+    }
+
+    public CompletableFuture<ForwardedResponse> forwardAsync(ClusterMember owner, String path, String email, Object body,
+                                                             String clientIp, String authorization) {
+        String nodeId = membership.nodeId();
+        String timestamp = Long.toString(System.currentTimeMillis());
+        int query = path.indexOf('?');
+        byte[] signature = sign(nodeId, timestamp, query < 0 ? path : path.substring(0, query), email, clientIp);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(owner.url() + path))
+                .timeout(forwardTimeout)
+                .header(FORWARDED_HEADER, nodeId)
+                .header(FORWARDED_AT_HEADER, timestamp)
+                .header(SIGNATURE_HEADER, Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+        if (clientIp != null) {
+            request.header(CLIENT_IP_HEADER, clientIp);
+        }
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        if (body != null) {
+            try {
+                request.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } catch (JsonProcessingException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        } else {
+            request.POST(HttpRequest.BodyPublishers.noBody());
+        }
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, e) -> {
+                    if (e != null) {
+                        forwardFailures.increment();
+                        log.warn("Forwarding {} to cluster node {} failed: {}", path, owner.id(), e.toString());
+                        throw new ServiceOverloadedException("Owner node is unavailable. Please try again later.", e);
+                    }
+                    forwarded.increment();
+                    return new ForwardedResponse(response.statusCode(),
+                            response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null), response.body());
+                });
+    }
+
+    public ForwardedResponse forward(ClusterMember owner, String path, String email, Object body, String clientIp,
+                                     String authorization) {
+        try {
+            return forwardAsync(owner, path, email, body, clientIp, authorization).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private List<BulkOtpResult> parseResults(byte[] ndjson) throws IOException {
+        List<BulkOtpResult> results = new ArrayList<>();
+        try (MappingIterator<BulkOtpResult> lines = objectMapper.readerFor(BulkOtpResult.class).readValues(ndjson)) {
+            while (lines.hasNext()) {
+                results.add(lines.next());
+            }
+        }
+        return results;
+    }
+
+    private boolean isFresh(String timestamp) {
+        try {
+            return Math.abs(System.currentTimeMillis() - Long.parseLong(timestamp)) <= maxSkewMs;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private byte[] sign(String nodeId, String timestamp, String path, String email, String clientIp) {
+        String message = String.join("\n", nodeId, timestamp, path, email.trim().toLowerCase(Locale.ROOT),
+                clientIp != null ? clientIp : "");
+        return mac.get().doFinal(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] decode(String signature) {
+        try {
+            return Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return new byte[0];
+        }
+    }
+}
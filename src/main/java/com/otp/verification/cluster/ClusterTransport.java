@@ -0,0 +1,14 @@
+package com.otp.verification.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link ClusterEvent}s between nodes. Delivery is at-least-once and may lag behind the publisher, and a
+ * node also receives its own events, so subscribers must be idempotent and filter on {@code originNode}.
+ */
+public interface ClusterTransport {
+
+    void publish(ClusterEvent event);
+
+    void subscribe(Consumer<ClusterEvent> subscriber);
+}
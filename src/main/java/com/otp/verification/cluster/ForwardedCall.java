@@ -0,0 +1,8 @@
+package com.otp.verification.cluster;
+
+/**
+ * A call another member forwarded here, authenticated by its signature. {@code clientIp} is the address the
+ * forwarding node resolved for the original caller, or {@code null} when it had none.
+ */
+public record ForwardedCall(String nodeId, String clientIp) {
+}
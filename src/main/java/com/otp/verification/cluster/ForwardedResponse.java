@@ -0,0 +1,18 @@
+package com.otp.verification.cluster;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * The owner node's reply, relayed to the client unchanged.
+ */
+public record ForwardedResponse(int status, String contentType, byte[] body) {
+
+    public ResponseEntity<byte[]> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (contentType != null) {
+            builder.contentType(MediaType.parseMediaType(contentType));
+        }
+        return builder.body(body);
+    }
+}
@@ -0,0 +1,48 @@
+package com.otp.verification.cluster;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers events synchronously to every transport joined to the same named bus in this JVM, so several nodes
+ * (application contexts) can form a cluster inside one test or load-test process.
+ */
+public class InProcessClusterTransport implements ClusterTransport, DisposableBean {
+
+    private static final Map<String, List<InProcessClusterTransport>> BUSES = new ConcurrentHashMap<>();
+
+    private final String bus;
+    private final List<Consumer<ClusterEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InProcessClusterTransport(String bus) {
+        this.bus = bus;
+        BUSES.computeIfAbsent(bus, name -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        for (InProcessClusterTransport transport : BUSES.getOrDefault(bus, List.of())) {
+            for (Consumer<ClusterEvent> subscriber : transport.subscribers) {
+                subscriber.accept(event);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void destroy() {
+        List<InProcessClusterTransport> members = BUSES.get(bus);
+        if (members != null) {
+            members.remove(this);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.otp.verification.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Publishes events as rows in {@code cluster_events} and polls for rows past the last id seen. Ids can become
+ * visible out of order when inserts from different nodes commit out of order, so skipped ids are remembered as
+ * gaps and re-read until they show up or {@code gap-timeout-ms} passes (rolled-back inserts never do).
+ */
+@Slf4j
+public class JdbcClusterTransport implements ClusterTransport {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cluster_events (event_type, event_key, origin_node, created_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_COLUMNS = "SELECT id, event_type, event_key, origin_node FROM cluster_events ";
+    private static final int MAX_GAPS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long gapTimeoutMs;
+    private final long retentionMs;
+    private final List<Consumer<ClusterEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private long lastSeenId;
+
+    public JdbcClusterTransport(JdbcTemplate jdbcTemplate, int batchSize, long gapTimeoutMs, long retentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.retentionMs = retentionMs;
+        // a starting node has nothing cached yet, so earlier events are of no use to it
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cluster_events", Long.class);
+        this.lastSeenId = maxId != null ? maxId : 0L;
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        jdbcTemplate.update(INSERT_SQL, event.type().name(), event.key(), event.originNode(),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.jdbc.poll-interval-ms:500}")
+    public synchronized int poll() {
+        long now = System.currentTimeMillis();
+        int delivered = 0;
+
+        if (!gaps.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(gaps.size(), "?"));
+            List<Row> filled = jdbcTemplate.query(SELECT_COLUMNS + "WHERE id IN (" + placeholders + ")",
+                    JdbcClusterTransport::mapRow, gaps.keySet().toArray());
+            for (Row row : filled) {
+                gaps.remove(row.id());
+                deliver(row.event());
+                delivered++;
+            }
+            gaps.values().removeIf(firstMissedAt -> now - firstMissedAt > gapTimeoutMs);
+        }
+
+        List<Row> rows = jdbcTemplate.query(SELECT_COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?",
+                JdbcClusterTransport::mapRow, lastSeenId, batchSize);
+        for (Row row : rows) {
+            for (long missing = lastSeenId + 1; missing < row.id() && gaps.size() < MAX_GAPS; missing++) {
+                gaps.put(missing, now);
+            }
+            lastSeenId = row.id();
+            deliver(row.event());
+            delivered++;
+        }
+        return delivered;
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.jdbc.purge-interval-ms:60000}")
+    public void purge() {
+        int purged = jdbcTemplate.update("DELETE FROM cluster_events WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusNanos(retentionMs * 1_000_000)));
+        if (purged > 0) {
+            log.debug("Purged {} cluster events", purged);
+        }
+    }
+
+    private void deliver(ClusterEvent event) {
+        for (Consumer<ClusterEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Cluster event subscriber failed for {}", event, e);
+            }
+        }
+    }
+
+    private static Row mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Row(rs.getLong("id"), new ClusterEvent(
+                ClusterEvent.Type.valueOf(rs.getString("event_type")),
+                rs.getString("event_key"),
+                rs.getString("origin_node")));
+    }
+
+    private record Row(long id, ClusterEvent event) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.otp.verification.config;
+
+import com.otp.verification.cluster.InProcessClusterTransport;
+import com.otp.verification.cluster.JdbcClusterTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cluster.transport", havingValue = "jdbc", matchIfMissing = true)
+    public JdbcClusterTransport jdbcClusterTransport(JdbcTemplate jdbcTemplate,
+                                                     @Value("${cluster.jdbc.batch-size:500}") int batchSize,
+                                                     @Value("${cluster.jdbc.gap-timeout-ms:10000}") long gapTimeoutMs,
+                                                     @Value("${cluster.jdbc.retention-ms:600000}") long retentionMs) {
+        return new JdbcClusterTransport(jdbcTemplate, batchSize, gapTimeoutMs, retentionMs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cluster.transport", havingValue = "in-process")
+    public InProcessClusterTransport inProcessClusterTransport(@Value("${cluster.name:otp}") String name) {
+        return new InProcessClusterTransport(name);
+    }
+}
@@ -0,0 +1,56 @@
+package com.otp.verification.config;
+
+import com.otp.verification.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With virtual threads Tomcat no longer caps concurrent requests, so AuthService calls (each holding
+ * one pooled connection for its transaction) are bounded here instead of queueing on the pool.
+ */
+@Aspect
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DatabaseBulkheadAspect {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public DatabaseBulkheadAspect(MeterRegistry meterRegistry,
+                                  @Value("${db.bulkhead.max-concurrent:8}") int maxConcurrent,
+                                  @Value("${db.bulkhead.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        Gauge.builder("db.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free database bulkhead permits")
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database bulkhead permit")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(* com.otp.verification.service.AuthService.*(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new ServiceOverloadedException("Service is busy. Please try again later.");
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            permits.release();
+        }
+    }
+}
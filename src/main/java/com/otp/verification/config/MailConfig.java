@@ -0,0 +1,44 @@
+package com.otp.verification.config;
+
+import com.otp.verification.mail.PooledMailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mail.pool.enabled", havingValue = "true", matchIfMissing = true)
+    public PooledMailSender pooledMailSender(MailProperties mailProperties,
+                                             @Value("${mail.pool.max-size:4}") int maxSize,
+                                             @Value("${mail.pool.max-idle-ms:30000}") long maxIdleMs,
+                                             @Value("${mail.pool.validate-after-idle-ms:1000}") long validateAfterIdleMs,
+                                             @Value("${mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                                             @Value("${mail.pool.borrow-timeout-ms:10000}") long borrowTimeoutMs) {
+        PooledMailSender sender = new PooledMailSender(
+                maxSize, maxIdleMs, validateAfterIdleMs, maxMessagesPerConnection, borrowTimeoutMs);
+        sender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            sender.setPort(mailProperties.getPort());
+        }
+        sender.setUsername(mailProperties.getUsername());
+        sender.setPassword(mailProperties.getPassword());
+        sender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+        if (!mailProperties.getProperties().isEmpty()) {
+            Properties javaMailProperties = new Properties();
+            javaMailProperties.putAll(mailProperties.getProperties());
+            sender.setJavaMailProperties(javaMailProperties);
+        }
+        return sender;
+    }
+}
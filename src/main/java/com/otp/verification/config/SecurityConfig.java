@@ -1,15 +1,25 @@
 package com.otp.verification.config;
 
+import com.otp.verification.metrics.TimedPasswordEncoder;
+import com.otp.verification.security.AdaptiveBCryptPasswordEncoder;
+import com.otp.verification.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                                  @Value("${auth.password.bcrypt-strength:10}") int strength,
+                                                  @Value("${auth.password.hashing.threads:0}") int threads,
+                                                  @Value("${auth.password.hashing.queue-capacity:64}") int queueCapacity) {
+        int hashingThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // timed inside the bounded executor so auth.password.hash measures hashing, not queueing
+        PasswordEncoder timed = new TimedPasswordEncoder(new AdaptiveBCryptPasswordEncoder(strength), meterRegistry);
+        return new BoundedPasswordEncoder(timed, hashingThreads, queueCapacity, meterRegistry);
     }
 }
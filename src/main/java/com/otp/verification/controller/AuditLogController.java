@@ -0,0 +1,141 @@
+package com.otp.verification.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.otp.verification.dto.AuditLogEntry;
+import com.otp.verification.dto.AuditLogPage;
+import com.otp.verification.dto.AuditLogQuery;
+import com.otp.verification.exception.InvalidAuditQueryException;
+import com.otp.verification.service.AuditLogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/v1/audit-logs")
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String CSV_HEADER = "id,created_at,action,entity_type,entity_id,status,ip_address,details\n";
+
+    private final AuditLogService auditLogService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public ResponseEntity<AuditLogPage> getAuditLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        AuditLogQuery query = toQuery(from, to, action, entityType, entityId);
+        return new ResponseEntity<>(auditLogService.getAuditLogs(query, cursor, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        AuditLogQuery query = toQuery(from, to, action, entityType, entityId);
+        log.info("Audit log export requested: {} from {} to {}", format, from, to);
+        return stream(format, sink -> auditLogService.exportAuditLogs(query, sink));
+    }
+
+    @GetMapping("/archive")
+    public ResponseEntity<StreamingResponseBody> exportArchivedAuditLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        AuditLogQuery query = toQuery(from, to, action, entityType, entityId);
+        log.info("Archived audit log search requested: {} from {} to {}", format, from, to);
+        return stream(format, sink -> auditLogService.exportArchivedAuditLogs(query, sink));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String format, Consumer<Consumer<AuditLogEntry>> source) {
+        boolean csv = switch (format.toLowerCase()) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new InvalidAuditQueryException("Unsupported export format: " + format);
+        };
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(CSV_HEADER);
+            }
+            source.accept(entry -> {
+                try {
+                    writer.write(csv ? toCsvLine(entry) : objectMapper.writeValueAsString(entry));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=audit-logs." + (csv ? "csv" : "ndjson"))
+                .body(body);
+    }
+
+    private AuditLogQuery toQuery(LocalDateTime from, LocalDateTime to, String action, String entityType, Long entityId) {
+        return AuditLogQuery.builder()
+                .from(from)
+                .to(to)
+                .action(action)
+                .entityType(entityType)
+                .entityId(entityId)
+                .build();
+    }
+
+    private String toCsvLine(AuditLogEntry entry) {
+        return String.join(",",
+                String.valueOf(entry.getId()),
+                String.valueOf(entry.getCreatedAt()),
+                csvField(entry.getAction()),
+                csvField(entry.getEntityType()),
+                entry.getEntityId() == null ? "" : entry.getEntityId().toString(),
+                csvField(entry.getStatus()),
+                csvField(entry.getIpAddress()),
+                csvField(entry.getDetails()));
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,23 +1,53 @@
 package com.otp.verification.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.otp.verification.cluster.BulkRoute;
+import com.otp.verification.cluster.ClusterMember;
+import com.otp.verification.cluster.ClusterRouter;
+import com.otp.verification.cluster.ForwardedCall;
 import com.otp.verification.dto.AuthResponse;
+import com.otp.verification.dto.BulkOtpRequest;
+import com.otp.verification.dto.BulkOtpResult;
 import com.otp.verification.dto.OtpVerificationRequest;
 import com.otp.verification.dto.RegisterRequest;
+import com.otp.verification.ratelimit.RateLimitService;
 import com.otp.verification.service.AuthService;
+import com.otp.verification.service.BulkOtpService;
+import com.otp.verification.util.IpAddressUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/v1/auth")
 @RequiredArgsConstructor
 @Slf4j
 public class AuthController {
 
     private final AuthService authService;
+    private final BulkOtpService bulkOtpService;
+    private final ObjectMapper objectMapper;
+    private final RateLimitService rateLimitService;
+    private final IpAddressUtil ipAddressUtil;
+    private final ClusterRouter clusterRouter;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -27,16 +57,73 @@ public class AuthController {
     }
 
     @PostMapping("/request-otp")
-    public ResponseEntity<AuthResponse> requestOtp(@RequestParam String email) {
+    public ResponseEntity<?> requestOtp(@RequestParam String email, HttpServletRequest httpRequest) {
+        Optional<ForwardedCall> forwardedCall = clusterRouter.authenticate("/v1/auth/request-otp", email, httpRequest::getHeader);
+        String clientIp = clientIp(forwardedCall, httpRequest);
+        Optional<ClusterMember> owner = clusterRouter.remoteOwner(email, forwardedCall);
+        if (owner.isPresent()) {
+            return clusterRouter.forward(owner.get(), "/v1/auth/request-otp?email=" + URLEncoder.encode(email, StandardCharsets.UTF_8),
+                    email, null, clientIp, httpRequest.getHeader(HttpHeaders.AUTHORIZATION)).toResponseEntity();
+        }
+        rateLimitService.checkRequestOtp(clientIp, email);
         log.info("OTP request received for email: {}", email);
-        AuthResponse response = authService.requestOtp(email);
+        AuthResponse response = ipAddressUtil.callWithClientIp(clientIp, () -> authService.requestOtp(email));
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @PostMapping("/request-otp/bulk")
+    public ResponseEntity<StreamingResponseBody> requestOtpBulk(@Valid @RequestBody BulkOtpRequest request,
+                                                                HttpServletRequest httpRequest) {
+        Optional<ForwardedCall> forwardedCall = clusterRouter.authenticate(ClusterRouter.BULK_PATH,
+                ClusterRouter.bulkKey(request.getEmails()), httpRequest::getHeader);
+        String clientIp = clientIp(forwardedCall, httpRequest);
+        if (forwardedCall.isEmpty()) {
+            rateLimitService.checkRequestOtpBulk(clientIp);
+        }
+        log.info("Bulk OTP request received for {} emails", request.getEmails().size());
+        BulkRoute route = clusterRouter.routeBulk(request.getEmails(), forwardedCall);
+        String authorization = httpRequest.getHeader(HttpHeaders.AUTHORIZATION);
+        // owners issue their shares while this node works through its own
+        List<CompletableFuture<List<BulkOtpResult>>> forwarded = route.remote().entrySet().stream()
+                .map(share -> clusterRouter.forwardBulkAsync(share.getKey(), share.getValue(), clientIp, authorization))
+                .toList();
+        StreamingResponseBody body = outputStream -> {
+            Consumer<List<BulkOtpResult>> sink = results -> {
+                try {
+                    for (BulkOtpResult result : results) {
+                        outputStream.write(objectMapper.writeValueAsBytes(result));
+                        outputStream.write('\n');
+                    }
+                    outputStream.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            ipAddressUtil.callWithClientIp(clientIp, () -> {
+                bulkOtpService.requestOtps(route.local(), sink);
+                return null;
+            });
+            forwarded.forEach(share -> sink.accept(share.join()));
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PostMapping("/verify-otp")
-    public ResponseEntity<AuthResponse> verifyOtp(@Valid @RequestBody OtpVerificationRequest request) {
+    public ResponseEntity<?> verifyOtp(@Valid @RequestBody OtpVerificationRequest request,
+                                       HttpServletRequest httpRequest) {
+        Optional<ForwardedCall> forwardedCall = clusterRouter.authenticate("/v1/auth/verify-otp", request.getEmail(),
+                httpRequest::getHeader);
+        String clientIp = clientIp(forwardedCall, httpRequest);
+        Optional<ClusterMember> owner = clusterRouter.remoteOwner(request.getEmail(), forwardedCall);
+        if (owner.isPresent()) {
+            return clusterRouter.forward(owner.get(), "/v1/auth/verify-otp", request.getEmail(), request, clientIp,
+                    httpRequest.getHeader(HttpHeaders.AUTHORIZATION)).toResponseEntity();
+        }
+        rateLimitService.checkVerifyOtp(clientIp, request.getEmail());
         log.info("OTP verification request received for email: {}", request.getEmail());
-        AuthResponse response = authService.verifyOtp(request);
+        AuthResponse response = ipAddressUtil.callWithClientIp(clientIp, () -> authService.verifyOtp(request));
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -51,4 +138,10 @@ public class AuthController {
     public ResponseEntity<String> health() {
         return new ResponseEntity<>("Service is running", HttpStatus.OK);
     }
+
+    // a call forwarded by another member is limited by the caller it resolved, not by that member's address
+    private String clientIp(Optional<ForwardedCall> forwardedCall, HttpServletRequest httpRequest) {
+        return forwardedCall.map(ForwardedCall::clientIp)
+                .orElseGet(() -> ipAddressUtil.getClientIpAddress(httpRequest));
+    }
 }
@@ -0,0 +1,134 @@
+package com.otp.verification.controller;
+
+import com.otp.verification.cluster.BulkRoute;
+import com.otp.verification.cluster.ClusterMember;
+import com.otp.verification.cluster.ClusterRouter;
+import com.otp.verification.cluster.ForwardedCall;
+import com.otp.verification.cluster.ForwardedResponse;
+import com.otp.verification.dto.AuthResponse;
+import com.otp.verification.dto.BulkOtpRequest;
+import com.otp.verification.dto.BulkOtpResult;
+import com.otp.verification.dto.OtpVerificationRequest;
+import com.otp.verification.dto.RegisterRequest;
+import com.otp.verification.ratelimit.RateLimitService;
+import com.otp.verification.service.ReactiveAuthService;
+import com.otp.verification.util.IpAddressUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+/**
+ * WebFlux counterpart of {@link AuthController} with the same paths and payloads, active when the application
+ * starts with {@code spring.main.web-application-type=reactive}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/v1/auth")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+    private final RateLimitService rateLimitService;
+    private final IpAddressUtil ipAddressUtil;
+    private final ClusterRouter clusterRouter;
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request,
+                                                       ServerHttpRequest httpRequest) {
+        log.info("Register request received for email: {}", request.getEmail());
+        return authService.register(request, ipAddressUtil.getClientIpAddress(httpRequest))
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/request-otp")
+    public Mono<ResponseEntity<?>> requestOtp(@RequestParam String email, ServerHttpRequest httpRequest) {
+        Optional<ForwardedCall> forwardedCall = clusterRouter.authenticate("/v1/auth/request-otp", email,
+                httpRequest.getHeaders()::getFirst);
+        String clientIp = clientIp(forwardedCall, httpRequest);
+        Optional<ClusterMember> owner = clusterRouter.remoteOwner(email, forwardedCall);
+        if (owner.isPresent()) {
+            return forward(owner.get(), "/v1/auth/request-otp?email=" + URLEncoder.encode(email, StandardCharsets.UTF_8),
+                    email, null, clientIp, httpRequest);
+        }
+        rateLimitService.checkRequestOtp(clientIp, email);
+        log.info("OTP request received for email: {}", email);
+        return authService.requestOtp(email, clientIp)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    @PostMapping(value = "/request-otp/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkOtpResult> requestOtpBulk(@Valid @RequestBody BulkOtpRequest request, ServerHttpRequest httpRequest) {
+        Optional<ForwardedCall> forwardedCall = clusterRouter.authenticate(ClusterRouter.BULK_PATH,
+                ClusterRouter.bulkKey(request.getEmails()), httpRequest.getHeaders()::getFirst);
+        String clientIp = clientIp(forwardedCall, httpRequest);
+        if (forwardedCall.isEmpty()) {
+            rateLimitService.checkRequestOtpBulk(clientIp);
+        }
+        log.info("Bulk OTP request received for {} emails", request.getEmails().size());
+        BulkRoute route = clusterRouter.routeBulk(request.getEmails(), forwardedCall);
+        String authorization = httpRequest.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        Flux<BulkOtpResult> forwarded = Flux.fromIterable(route.remote().entrySet())
+                .flatMap(share -> Mono.fromFuture(() -> clusterRouter.forwardBulkAsync(share.getKey(), share.getValue(),
+                        clientIp, authorization)))
+                .flatMapIterable(results -> results);
+        return Flux.merge(authService.requestOtps(route.local(), clientIp), forwarded);
+    }
+
+    @PostMapping("/verify-otp")
+    public Mono<ResponseEntity<?>> verifyOtp(@Valid @RequestBody OtpVerificationRequest request,
+                                             ServerHttpRequest httpRequest) {
+        Optional<ForwardedCall> forwardedCall = clusterRouter.authenticate("/v1/auth/verify-otp", request.getEmail(),
+                httpRequest.getHeaders()::getFirst);
+        String clientIp = clientIp(forwardedCall, httpRequest);
+        Optional<ClusterMember> owner = clusterRouter.remoteOwner(request.getEmail(), forwardedCall);
+        if (owner.isPresent()) {
+            return forward(owner.get(), "/v1/auth/verify-otp", request.getEmail(), request, clientIp, httpRequest);
+        }
+        rateLimitService.checkVerifyOtp(clientIp, request.getEmail());
+        log.info("OTP verification request received for email: {}", request.getEmail());
+        return authService.verifyOtp(request, clientIp)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponse>> login(@RequestParam String email, @RequestParam String password,
+                                                    ServerHttpRequest httpRequest) {
+        log.info("Login request received for email: {}", email);
+        return authService.login(email, password, ipAddressUtil.getClientIpAddress(httpRequest))
+                .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    private Mono<ResponseEntity<?>> forward(ClusterMember owner, String path, String email, Object body, String clientIp,
+                                            ServerHttpRequest httpRequest) {
+        String authorization = httpRequest.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return Mono.fromFuture(() -> clusterRouter.forwardAsync(owner, path, email, body, clientIp, authorization))
+                .onErrorMap(CompletionException.class, Throwable::getCause)
+                .map(ForwardedResponse::toResponseEntity);
+    }
+
+    // a call forwarded by another member is limited by the caller it resolved, not by that member's address
+    private String clientIp(Optional<ForwardedCall> forwardedCall, ServerHttpRequest httpRequest) {
+        return forwardedCall.map(ForwardedCall::clientIp)
+                .orElseGet(() -> ipAddressUtil.getClientIpAddress(httpRequest));
+    }
+
+    @GetMapping("/health")
+    public Mono<ResponseEntity<String>> health() {
+        return Mono.just(new ResponseEntity<>("Service is running", HttpStatus.OK));
+    }
+}
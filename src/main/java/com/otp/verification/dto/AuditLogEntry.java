@@ -0,0 +1,24 @@
+package com.otp.verification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogEntry {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private String action;
+    private String entityType;
+    private Long entityId;
+    private String status;
+    private String ipAddress;
+    private String details;
+}
@@ -0,0 +1,18 @@
+package com.otp.verification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogPage {
+
+    private List<AuditLogEntry> items;
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.otp.verification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogQuery {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String action;
+    private String entityType;
+    private Long entityId;
+}
@@ -0,0 +1,19 @@
+package com.otp.verification.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOtpRequest {
+
+    @NotEmpty(message = "At least one email is required")
+    @Size(max = 10000, message = "At most 10000 emails per request")
+    private List<String> emails;
+}
@@ -0,0 +1,28 @@
+package com.otp.verification.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOtpResult {
+
+    public enum Status {
+        QUEUED,
+        NOT_FOUND,
+        INVALID,
+        DUPLICATE,
+        RATE_LIMITED,
+        FAILED
+    }
+
+    private String email;
+    private Status status;
+    private String token;
+}
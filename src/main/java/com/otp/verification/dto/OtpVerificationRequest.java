@@ -15,4 +15,6 @@ public class OtpVerificationRequest {
 
     @NotBlank(message = "OTP is required")
     private String otp;
+
+    private String token;
 }
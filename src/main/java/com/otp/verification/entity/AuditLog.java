@@ -25,10 +25,9 @@ public class AuditLog {
     @Column(nullable = false)
     private String entityType;
 
-    @Column(nullable = false)
     private Long entityId;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = 1000)
     private String details;
 
     @Column(nullable = false)
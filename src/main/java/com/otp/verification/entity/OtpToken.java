@@ -23,7 +23,7 @@ public class OtpToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = 500)
     private String token;
 
     @Column(nullable = false)
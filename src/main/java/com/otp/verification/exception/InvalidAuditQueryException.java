@@ -0,0 +1,16 @@
+package com.otp.verification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidAuditQueryException extends RuntimeException {
+
+    public InvalidAuditQueryException(String message) {
+        super(message);
+    }
+
+    public InvalidAuditQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,257 @@
+package com.otp.verification.mail;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JavaMailSender that keeps connected, authenticated SMTP transports in a pool instead of opening a
+ * new session per send. Connections idle for longer than {@code validateAfterIdleMs} are checked with
+ * NOOP before reuse, connections that fail mid-send are discarded and the message is retried once on a
+ * fresh one, and a connection is retired after {@code maxMessagesPerConnection} messages.
+ */
+@Slf4j
+public class PooledMailSender extends JavaMailSenderImpl implements MeterBinder, DisposableBean {
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final int maxSize;
+    private final long maxIdleMs;
+    private final long validateAfterIdleMs;
+    private final int maxMessagesPerConnection;
+    private final long borrowTimeoutMs;
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private volatile boolean closed;
+
+    public PooledMailSender(int maxSize, long maxIdleMs, long validateAfterIdleMs,
+                            int maxMessagesPerConnection, long borrowTimeoutMs) {
+        this.permits = new Semaphore(maxSize, true);
+        this.maxSize = maxSize;
+        this.maxIdleMs = maxIdleMs;
+        this.validateAfterIdleMs = validateAfterIdleMs;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport connection = null;
+        try {
+            boolean retried = false;
+            for (int i = 0; i < mimeMessages.length; i++) {
+                if (connection == null) {
+                    try {
+                        connection = borrow();
+                    } catch (AuthenticationFailedException e) {
+                        throw new MailAuthenticationException(e);
+                    } catch (Exception e) {
+                        if (e instanceof InterruptedException) {
+                            Thread.currentThread().interrupt();
+                        }
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(original(mimeMessages, originalMessages, j), e);
+                        }
+                        throw new MailSendException("Mail server connection failed", e, failedMessages);
+                    }
+                }
+
+                MimeMessage mimeMessage = mimeMessages[i];
+                try {
+                    prepare(mimeMessage);
+                    Address[] addresses = mimeMessage.getAllRecipients();
+                    connection.transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+                    connection.messagesSent++;
+                    retried = false;
+                } catch (Exception e) {
+                    if (e instanceof SendFailedException) {
+                        failedMessages.put(original(mimeMessages, originalMessages, i), e);
+                        retried = false;
+                        continue;
+                    }
+                    boolean retry = !retried && (connection.reused || connection.messagesSent > 0);
+                    retire(connection, "broken");
+                    connection = null;
+                    if (retry) {
+                        log.debug("Pooled SMTP connection failed mid-send, retrying on a new connection", e);
+                        retried = true;
+                        i--;
+                    } else {
+                        failedMessages.put(original(mimeMessages, originalMessages, i), e);
+                        retried = false;
+                    }
+                    continue;
+                }
+
+                if (connection.messagesSent >= maxMessagesPerConnection) {
+                    retire(connection, "exhausted");
+                    connection = null;
+                }
+            }
+        } finally {
+            if (connection != null) {
+                release(connection);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.pool.eviction-interval-ms:15000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - maxIdleMs;
+        Iterator<PooledTransport> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext()) {
+            PooledTransport connection = oldestFirst.next();
+            if (connection.lastUsedAt > cutoff) {
+                break;
+            }
+            if (idle.removeLastOccurrence(connection)) {
+                discard(connection, "idle");
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.pool.connections", idle, LinkedBlockingDeque::size)
+                .description("Pooled SMTP connections")
+                .tag("state", "idle")
+                .register(registry);
+        Gauge.builder("mail.pool.connections", this, sender -> sender.maxSize - sender.permits.availablePermits())
+                .description("Pooled SMTP connections")
+                .tag("state", "active")
+                .register(registry);
+        FunctionCounter.builder("mail.pool.connections.opened", opened, AtomicLong::get)
+                .description("SMTP connections opened by the pool")
+                .register(registry);
+        FunctionCounter.builder("mail.pool.connections.reused", reused, AtomicLong::get)
+                .description("Sends served from an already connected SMTP session")
+                .register(registry);
+        FunctionCounter.builder("mail.pool.connections.discarded", discarded, AtomicLong::get)
+                .description("SMTP connections closed by the pool")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            discard(connection, "shutdown");
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new MessagingException("Timed out waiting for a pooled SMTP connection");
+        }
+        try {
+            PooledTransport connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (isUsable(connection)) {
+                    connection.reused = true;
+                    reused.incrementAndGet();
+                    return connection;
+                }
+                discard(connection, "stale");
+            }
+            connection = new PooledTransport(connectTransport());
+            opened.incrementAndGet();
+            return connection;
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledTransport connection) {
+        long idleFor = System.currentTimeMillis() - connection.lastUsedAt;
+        if (idleFor >= maxIdleMs) {
+            return false;
+        }
+        // SMTPTransport.isConnected() issues a NOOP, so only pay that round trip for connections that sat idle
+        return idleFor < validateAfterIdleMs || connection.transport.isConnected();
+    }
+
+    private void release(PooledTransport connection) {
+        connection.lastUsedAt = System.currentTimeMillis();
+        if (closed) {
+            discard(connection, "shutdown");
+        } else {
+            idle.offerFirst(connection);
+        }
+        permits.release();
+    }
+
+    private void discard(PooledTransport connection, String reason) {
+        discarded.incrementAndGet();
+        log.debug("Closing SMTP connection ({}) after {} messages", reason, connection.messagesSent);
+        try {
+            connection.transport.close();
+        } catch (Exception e) {
+            log.debug("Failed to close SMTP connection", e);
+        }
+    }
+
+    private void retire(PooledTransport connection, String reason) {
+        discard(connection, reason);
+        permits.release();
+    }
+
+    private static void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+    }
+
+    private static Object original(MimeMessage[] mimeMessages, Object[] originalMessages, int index) {
+        return originalMessages != null ? originalMessages[index] : mimeMessages[index];
+    }
+
+    private static final class PooledTransport {
+
+        private final Transport transport;
+        private long lastUsedAt = System.currentTimeMillis();
+        private int messagesSent;
+        private boolean reused;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.otp.verification.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.SendFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker and bulkhead in front of every SMTP send. The breaker keeps the outcomes of the last
+ * {@code windowSize} sends and opens once at least {@code minimumCalls} were made and the share of failed or slow
+ * ones crosses its threshold. While open, sends are rejected without touching the network; after
+ * {@code openDurationMs} up to {@code halfOpenProbes} sends are let through, and the circuit closes when all of them
+ * succeed in time or re-opens on the first bad one. Recipient rejections ({@link SendFailedException}) say nothing
+ * about the server's health and are counted as successes. The bulkhead caps concurrent sends independently of the
+ * connection pool, so a brownout cannot park more threads on SMTP than it allows.
+ */
+@Component
+@Slf4j
+public class SmtpCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallDurationMs;
+    private final long openDurationMs;
+    private final int halfOpenProbes;
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final long bulkheadWaitMs;
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter slow;
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failed;
+    private int slowed;
+    private long openedAtMs;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public SmtpCircuitBreaker(MeterRegistry meterRegistry,
+                              @Value("${mail.circuit-breaker.enabled:true}") boolean enabled,
+                              @Value("${mail.circuit-breaker.window-size:20}") int windowSize,
+                              @Value("${mail.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                              @Value("${mail.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                              @Value("${mail.circuit-breaker.slow-call-rate-threshold:80}") int slowCallRateThreshold,
+                              @Value("${mail.circuit-breaker.slow-call-duration-ms:3000}") long slowCallDurationMs,
+                              @Value("${mail.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+                              @Value("${mail.circuit-breaker.half-open-probes:2}") int halfOpenProbes,
+                              @Value("${mail.bulkhead.max-concurrent:4}") int maxConcurrent,
+                              @Value("${mail.bulkhead.wait-ms:0}") long bulkheadWaitMs) {
+        this.enabled = enabled;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationMs = slowCallDurationMs;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenProbes = halfOpenProbes;
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+        this.bulkhead = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.bulkheadWaitMs = bulkheadWaitMs;
+
+        for (State candidate : State.values()) {
+            Gauge.builder("mail.circuit.state", this, breaker -> breaker.getState() == candidate ? 1 : 0)
+                    .description("1 for the SMTP circuit breaker's current state")
+                    .tag("state", candidate.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("mail.circuit.failure.rate", this, breaker -> breaker.rate(true))
+                .description("Percentage of failed sends in the circuit breaker window")
+                .register(meterRegistry);
+        Gauge.builder("mail.circuit.slow.rate", this, breaker -> breaker.rate(false))
+                .description("Percentage of slow sends in the circuit breaker window")
+                .register(meterRegistry);
+        Gauge.builder("mail.bulkhead.active", bulkhead, permits -> maxConcurrent - permits.availablePermits())
+                .description("SMTP sends currently holding a bulkhead permit")
+                .register(meterRegistry);
+        this.successes = calls(meterRegistry, "success");
+        this.failures = calls(meterRegistry, "failure");
+        this.slow = calls(meterRegistry, "slow");
+        this.rejected = calls(meterRegistry, "rejected");
+    }
+
+    /**
+     * Runs one SMTP call carrying {@code messages} messages; the slow-call limit applies per message so batched
+     * sessions are not penalised for their size.
+     */
+    public void execute(int messages, Runnable send) {
+        boolean probe = acquire();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            send.run();
+            success = true;
+        } catch (RuntimeException e) {
+            success = !isServerFailure(e);
+            throw e;
+        } finally {
+            bulkhead.release();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            record(probe, success, elapsedMs > slowCallDurationMs * Math.max(messages, 1));
+        }
+    }
+
+    /**
+     * Whether a send started now could be attempted; lets callers leave work queued instead of claiming it.
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.currentTimeMillis() - openedAtMs >= openDurationMs;
+            case HALF_OPEN -> probesStarted < halfOpenProbes;
+        };
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private boolean acquire() {
+        boolean probe;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (state == State.OPEN) {
+                long remainingMs = openedAtMs + openDurationMs - now;
+                if (remainingMs > 0) {
+                    throw reject("SMTP circuit is open", remainingMs);
+                }
+                transition(State.HALF_OPEN);
+                probesStarted = 0;
+                probesSucceeded = 0;
+            }
+            probe = state == State.HALF_OPEN;
+            if (probe) {
+                if (probesStarted >= halfOpenProbes) {
+                    throw reject("SMTP circuit is half-open and its probes are in flight", 1000);
+                }
+                probesStarted++;
+            }
+        }
+
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            synchronized (this) {
+                if (probe && state == State.HALF_OPEN) {
+                    probesStarted--;
+                }
+            }
+            throw reject("SMTP bulkhead is full", 1000);
+        }
+        return probe;
+    }
+
+    private synchronized void record(boolean probe, boolean success, boolean tooSlow) {
+        (!success ? failures : tooSlow ? slow : successes).increment();
+        if (!enabled) {
+            return;
+        }
+        if (probe) {
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            if (!success || tooSlow) {
+                open();
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                resetWindow();
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+
+        if (recorded == failedCalls.length) {
+            failed -= failedCalls[next] ? 1 : 0;
+            slowed -= slowCalls[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failedCalls[next] = !success;
+        slowCalls[next] = tooSlow;
+        failed += !success ? 1 : 0;
+        slowed += tooSlow ? 1 : 0;
+        next = (next + 1) % failedCalls.length;
+
+        if (recorded >= minimumCalls
+                && (failed * 100 >= failureRateThreshold * recorded || slowed * 100 >= slowCallRateThreshold * recorded)) {
+            open();
+        }
+    }
+
+    private void open() {
+        openedAtMs = System.currentTimeMillis();
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        next = 0;
+        recorded = 0;
+        failed = 0;
+        slowed = 0;
+    }
+
+    private void transition(State target) {
+        if (state != target) {
+            if (target == State.OPEN) {
+                log.warn("SMTP circuit {} -> OPEN; sends paused for {} ms", state, openDurationMs);
+            } else {
+                log.info("SMTP circuit {} -> {}", state, target);
+            }
+            state = target;
+        }
+    }
+
+    private synchronized double rate(boolean failures) {
+        return recorded == 0 ? 0 : 100.0 * (failures ? failed : slowed) / recorded;
+    }
+
+    private SmtpUnavailableException reject(String reason, long retryAfterMs) {
+        rejected.increment();
+        return new SmtpUnavailableException(reason, Duration.ofMillis(retryAfterMs));
+    }
+
+    private static boolean isServerFailure(RuntimeException e) {
+        if (e instanceof MailSendException sendException && !sendException.getFailedMessages().isEmpty()) {
+            for (Map.Entry<Object, Exception> failure : sendException.getFailedMessages().entrySet()) {
+                if (!(failure.getValue() instanceof SendFailedException)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static Counter calls(MeterRegistry registry, String outcome) {
+        return Counter.builder("mail.circuit.calls")
+                .description("SMTP sends by circuit breaker outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.otp.verification.mail;
+
+import java.time.Duration;
+
+/**
+ * Thrown without contacting the server when the SMTP circuit is open or the bulkhead is full. The message was not
+ * attempted, so callers should keep it queued and try again after {@link #getRetryAfter()}.
+ */
+public class SmtpUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public SmtpUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,72 @@
+package com.otp.verification.mail.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One template part parsed into alternating literal chunks and variable writers. Rendering walks the two arrays and
+ * appends into the caller's buffer; nothing is parsed or looked up per call.
+ */
+public final class CompiledTemplate<M> {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final char[][] literals;
+    private final TemplateVariables.VariableWriter<M>[] writers;
+    private final boolean html;
+    private final int estimatedLength;
+
+    private CompiledTemplate(char[][] literals, TemplateVariables.VariableWriter<M>[] writers, boolean html) {
+        this.literals = literals;
+        this.writers = writers;
+        this.html = html;
+        int length = 16 * writers.length;
+        for (char[] literal : literals) {
+            length += literal.length;
+        }
+        this.estimatedLength = length;
+    }
+
+    /**
+     * Parses {@code source}, failing on unbalanced braces or on a variable the model does not expose.
+     */
+    @SuppressWarnings("unchecked")
+    public static <M> CompiledTemplate<M> compile(String source, TemplateVariables<M> variables, boolean html,
+                                                  String origin) {
+        List<char[]> literals = new ArrayList<>();
+        List<TemplateVariables.VariableWriter<M>> writers = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position).toCharArray());
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed " + OPEN + " in " + origin + " at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            TemplateVariables.VariableWriter<M> writer = variables.writer(name);
+            if (writer == null) {
+                throw new IllegalStateException("Unknown variable '" + name + "' in " + origin
+                        + "; available: " + variables.names());
+            }
+            literals.add(source.substring(position, open).toCharArray());
+            writers.add(writer);
+            position = close + CLOSE.length();
+        }
+        return new CompiledTemplate<>(literals.toArray(char[][]::new),
+                writers.toArray(TemplateVariables.VariableWriter[]::new), html);
+    }
+
+    public void renderTo(M model, StringBuilder out) {
+        out.ensureCapacity(out.length() + estimatedLength);
+        out.append(literals[0]);
+        for (int i = 0; i < writers.length; i++) {
+            writers[i].write(model, out, html);
+            out.append(literals[i + 1]);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.otp.verification.mail.template;
+
+/**
+ * Compiled subject, text and optional HTML parts of one template in one locale.
+ */
+public final class EmailTemplate<M> {
+
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    // mail is rendered on the dispatcher's platform threads, so one buffer per thread is reused for every part
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    private final CompiledTemplate<M> subject;
+    private final CompiledTemplate<M> text;
+    private final CompiledTemplate<M> html;
+
+    EmailTemplate(CompiledTemplate<M> subject, CompiledTemplate<M> text, CompiledTemplate<M> html) {
+        this.subject = subject;
+        this.text = text;
+        this.html = html;
+    }
+
+    public RenderedEmail render(M model) {
+        StringBuilder buffer = BUFFER.get();
+        try {
+            return new RenderedEmail(render(subject, model, buffer), render(text, model, buffer),
+                    html != null ? render(html, model, buffer) : null);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    public CompiledTemplate<M> subject() {
+        return subject;
+    }
+
+    public CompiledTemplate<M> text() {
+        return text;
+    }
+
+    public CompiledTemplate<M> html() {
+        return html;
+    }
+
+    private static <M> String render(CompiledTemplate<M> part, M model, StringBuilder buffer) {
+        buffer.setLength(0);
+        part.renderTo(model, buffer);
+        return buffer.toString();
+    }
+}
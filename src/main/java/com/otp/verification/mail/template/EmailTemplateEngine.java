@@ -0,0 +1,130 @@
+package com.otp.verification.mail.template;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Loads every {@code <name>[_<locale>].<subject|txt|html>} file under the template location once at startup and
+ * compiles it against the variables of its {@link TemplateDefinition}, so a typo in a template fails the boot instead
+ * of a send. Unsuffixed files are the fallback variant and must provide at least the subject and text parts; a locale
+ * variant may override any subset of them.
+ */
+@Component
+@Slf4j
+public class EmailTemplateEngine {
+
+    private static final String BASE = "";
+    private static final String SUBJECT = "subject";
+    private static final String TEXT = "txt";
+    private static final String HTML = "html";
+
+    private final Map<String, Map<String, EmailTemplate<?>>> templates = new HashMap<>();
+
+    @Autowired
+    public EmailTemplateEngine(@Value("${email.templates.location:classpath*:templates/email/}") String location,
+                               @Value("${email.templates.html-enabled:true}") boolean htmlEnabled) {
+        this(location, htmlEnabled, List.of(OtpEmail.TEMPLATE, WelcomeEmail.TEMPLATE));
+    }
+
+    public EmailTemplateEngine(String location, boolean htmlEnabled, List<TemplateDefinition<?>> definitions) {
+        Map<String, Map<String, Map<String, String>>> sources = load(location);
+        int variants = 0;
+        for (TemplateDefinition<?> definition : definitions) {
+            Map<String, Map<String, String>> byLocale = sources.remove(definition.name());
+            Map<String, String> base = byLocale != null ? byLocale.get(BASE) : null;
+            if (base == null || !base.containsKey(SUBJECT) || !base.containsKey(TEXT)) {
+                throw new IllegalStateException("Email template '" + definition.name() + "' needs "
+                        + definition.name() + ".subject and " + definition.name() + ".txt under " + location);
+            }
+            Map<String, EmailTemplate<?>> compiled = new HashMap<>();
+            byLocale.forEach((tag, parts) -> {
+                Map<String, String> merged = new HashMap<>(base);
+                merged.putAll(parts);
+                compiled.put(tag, compile(definition, tag, merged, htmlEnabled));
+            });
+            templates.put(definition.name(), compiled);
+            variants += compiled.size();
+        }
+        if (!sources.isEmpty()) {
+            throw new IllegalStateException("Email template files without a definition: " + sources.keySet());
+        }
+        log.info("Compiled {} email templates ({} locale variants) from {}", templates.size(), variants, location);
+    }
+
+    /**
+     * Resolves the variant for {@code locale}: the full language tag, then the language, then the fallback.
+     */
+    @SuppressWarnings("unchecked")
+    public <M> EmailTemplate<M> template(TemplateDefinition<M> definition, Locale locale) {
+        Map<String, EmailTemplate<?>> byLocale = templates.get(definition.name());
+        if (byLocale == null) {
+            throw new IllegalArgumentException("Unknown email template: " + definition.name());
+        }
+        EmailTemplate<?> template = byLocale.get(locale.toLanguageTag());
+        if (template == null) {
+            template = byLocale.getOrDefault(locale.getLanguage(), byLocale.get(BASE));
+        }
+        return (EmailTemplate<M>) template;
+    }
+
+    public <M> RenderedEmail render(TemplateDefinition<M> definition, Locale locale, M model) {
+        return template(definition, locale).render(model);
+    }
+
+    private static <M> EmailTemplate<M> compile(TemplateDefinition<M> definition, String tag,
+                                                Map<String, String> parts, boolean htmlEnabled) {
+        String origin = definition.name() + (tag.isEmpty() ? "" : "_" + tag);
+        TemplateVariables<M> variables = definition.variables();
+        String html = htmlEnabled ? parts.get(HTML) : null;
+        return new EmailTemplate<>(
+                CompiledTemplate.compile(parts.get(SUBJECT).strip(), variables, false, origin + "." + SUBJECT),
+                CompiledTemplate.compile(parts.get(TEXT), variables, false, origin + "." + TEXT),
+                html != null ? CompiledTemplate.compile(html, variables, true, origin + "." + HTML) : null);
+    }
+
+    private static Map<String, Map<String, Map<String, String>>> load(String location) {
+        Map<String, Map<String, Map<String, String>>> sources = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location + "*.*")) {
+                String filename = resource.getFilename();
+                int dot = filename != null ? filename.lastIndexOf('.') : -1;
+                String part = dot > 0 ? filename.substring(dot + 1) : null;
+                if (!SUBJECT.equals(part) && !TEXT.equals(part) && !HTML.equals(part)) {
+                    log.warn("Ignoring {} in email templates: not a .subject, .txt or .html file", filename);
+                    continue;
+                }
+                String stem = filename.substring(0, dot);
+                int underscore = stem.indexOf('_');
+                String name = underscore < 0 ? stem : stem.substring(0, underscore);
+                String tag = underscore < 0 ? BASE
+                        : Locale.forLanguageTag(stem.substring(underscore + 1).replace('_', '-')).toLanguageTag();
+                sources.computeIfAbsent(name, key -> new HashMap<>())
+                        .computeIfAbsent(tag, key -> new HashMap<>())
+                        .put(part, read(resource));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list email templates under " + location, e);
+        }
+        return sources;
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8).replace("\r\n", "\n");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.otp.verification.mail.template;
+
+public record OtpEmail(String otp, long expiryMinutes) {
+
+    public static final TemplateDefinition<OtpEmail> TEMPLATE = new TemplateDefinition<>("otp",
+            TemplateVariables.<OtpEmail>create()
+                    .text("otp", OtpEmail::otp)
+                    .number("expiryMinutes", OtpEmail::expiryMinutes));
+}
@@ -0,0 +1,7 @@
+package com.otp.verification.mail.template;
+
+/**
+ * Rendered parts of one email; {@code html} is null when the template has no HTML part.
+ */
+public record RenderedEmail(String subject, String text, String html) {
+}
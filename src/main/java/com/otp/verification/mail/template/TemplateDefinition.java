@@ -0,0 +1,8 @@
+package com.otp.verification.mail.template;
+
+/**
+ * Binds a template name, i.e. the {@code <name>[_<locale>].<subject|txt|html>} files under the template location,
+ * to the model type it renders.
+ */
+public record TemplateDefinition<M>(String name, TemplateVariables<M> variables) {
+}
@@ -0,0 +1,79 @@
+package com.otp.verification.mail.template;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * The variables a template model exposes, by the name used between {@code {{ }}} in template files. Writers append
+ * straight into the render buffer, so numbers are never boxed or formatted through an intermediate String.
+ */
+public final class TemplateVariables<M> {
+
+    private final Map<String, VariableWriter<M>> writers = new LinkedHashMap<>();
+
+    private TemplateVariables() {
+    }
+
+    public static <M> TemplateVariables<M> create() {
+        return new TemplateVariables<>();
+    }
+
+    /**
+     * Text value; HTML-escaped when rendered into an HTML part, omitted when null.
+     */
+    public TemplateVariables<M> text(String name, Function<M, ? extends CharSequence> accessor) {
+        return add(name, (model, out, html) -> {
+            CharSequence value = accessor.apply(model);
+            if (value == null) {
+                return;
+            }
+            if (html) {
+                appendEscaped(value, out);
+            } else {
+                out.append(value);
+            }
+        });
+    }
+
+    public TemplateVariables<M> number(String name, ToLongFunction<M> accessor) {
+        return add(name, (model, out, html) -> out.append(accessor.applyAsLong(model)));
+    }
+
+    Set<String> names() {
+        return writers.keySet();
+    }
+
+    VariableWriter<M> writer(String name) {
+        return writers.get(name);
+    }
+
+    private TemplateVariables<M> add(String name, VariableWriter<M> writer) {
+        if (writers.putIfAbsent(name, writer) != null) {
+            throw new IllegalArgumentException("Duplicate template variable: " + name);
+        }
+        return this;
+    }
+
+    private static void appendEscaped(CharSequence value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface VariableWriter<M> {
+
+        void write(M model, StringBuilder out, boolean html);
+    }
+}
@@ -0,0 +1,8 @@
+package com.otp.verification.mail.template;
+
+public record WelcomeEmail(String firstName) {
+
+    public static final TemplateDefinition<WelcomeEmail> TEMPLATE = new TemplateDefinition<>("welcome",
+            TemplateVariables.<WelcomeEmail>create()
+                    .text("firstName", WelcomeEmail::firstName));
+}
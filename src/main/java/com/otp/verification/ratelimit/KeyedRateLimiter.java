@@ -0,0 +1,108 @@
+package com.otp.verification.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key token bucket implemented as GCRA: each key holds a single theoretical arrival time that is
+ * advanced with CAS. A key whose arrival time has fallen behind the clock has a full bucket, so evicting
+ * it loses no state. Keys live in lock-striped LRU maps of at most {@code maxKeys} entries in total; a
+ * full stripe makes room by dropping an idle key near its LRU end, or its least recently used key, so a
+ * flood of new keys can never push other callers into a shared bucket.
+ */
+public class KeyedRateLimiter {
+
+    private static final int STRIPES = 64;
+    private static final int EVICTION_SCAN = 8;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int keysPerStripe;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public KeyedRateLimiter(int capacity, long periodMs, int maxKeys) {
+        this.emissionIntervalNanos = periodMs * 1_000_000L / capacity;
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.keysPerStripe = Math.max(1, (maxKeys + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean tryAcquire(String key) {
+        long now = System.nanoTime();
+        return tryAcquire(bucketFor(key, now), now);
+    }
+
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                int before = stripe.buckets.size();
+                stripe.buckets.values().removeIf(tat -> tat.get() - now <= 0);
+                evicted += before - stripe.buckets.size();
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            AtomicLong bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= keysPerStripe) {
+                    evictOne(stripe, now);
+                }
+                bucket = new AtomicLong(now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    private static void evictOne(Stripe stripe, long now) {
+        Iterator<AtomicLong> leastRecentFirst = stripe.buckets.values().iterator();
+        for (int i = 0; i < EVICTION_SCAN && leastRecentFirst.hasNext(); i++) {
+            if (leastRecentFirst.next().get() - now <= 0) {
+                leastRecentFirst.remove();
+                return;
+            }
+        }
+        Iterator<AtomicLong> eldest = stripe.buckets.values().iterator();
+        eldest.next();
+        eldest.remove();
+    }
+
+    private boolean tryAcquire(AtomicLong bucket, long now) {
+        while (true) {
+            long tat = bucket.get();
+            long base = tat - now > 0 ? tat : now;
+            if (base - now > burstToleranceNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, AtomicLong> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+}
@@ -0,0 +1,116 @@
+package com.otp.verification.ratelimit;
+
+import com.otp.verification.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+@Service
+@Slf4j
+public class RateLimitService {
+
+    private final boolean enabled;
+    private final KeyedRateLimiter requestOtpByEmail;
+    private final KeyedRateLimiter requestOtpByIp;
+    private final KeyedRateLimiter verifyOtpByEmail;
+    private final KeyedRateLimiter verifyOtpByIp;
+    private final KeyedRateLimiter requestOtpBulkByIp;
+    private final Counter requestOtpRejected;
+    private final Counter verifyOtpRejected;
+    private final Counter requestOtpBulkRejected;
+
+    public RateLimitService(MeterRegistry meterRegistry,
+                            @Value("${rate-limit.enabled:true}") boolean enabled,
+                            @Value("${rate-limit.max-keys:100000}") int maxKeys,
+                            @Value("${rate-limit.request-otp.email.capacity:3}") int requestOtpEmailCapacity,
+                            @Value("${rate-limit.request-otp.email.period-ms:300000}") long requestOtpEmailPeriodMs,
+                            @Value("${rate-limit.request-otp.ip.capacity:20}") int requestOtpIpCapacity,
+                            @Value("${rate-limit.request-otp.ip.period-ms:60000}") long requestOtpIpPeriodMs,
+                            @Value("${rate-limit.verify-otp.email.capacity:5}") int verifyOtpEmailCapacity,
+                            @Value("${rate-limit.verify-otp.email.period-ms:300000}") long verifyOtpEmailPeriodMs,
+                            @Value("${rate-limit.verify-otp.ip.capacity:30}") int verifyOtpIpCapacity,
+                            @Value("${rate-limit.verify-otp.ip.period-ms:60000}") long verifyOtpIpPeriodMs,
+                            @Value("${rate-limit.request-otp-bulk.ip.capacity:5}") int requestOtpBulkIpCapacity,
+                            @Value("${rate-limit.request-otp-bulk.ip.period-ms:300000}") long requestOtpBulkIpPeriodMs) {
+        this.enabled = enabled;
+        this.requestOtpByEmail = new KeyedRateLimiter(requestOtpEmailCapacity, requestOtpEmailPeriodMs, maxKeys);
+        this.requestOtpByIp = new KeyedRateLimiter(requestOtpIpCapacity, requestOtpIpPeriodMs, maxKeys);
+        this.verifyOtpByEmail = new KeyedRateLimiter(verifyOtpEmailCapacity, verifyOtpEmailPeriodMs, maxKeys);
+        this.verifyOtpByIp = new KeyedRateLimiter(verifyOtpIpCapacity, verifyOtpIpPeriodMs, maxKeys);
+        this.requestOtpBulkByIp = new KeyedRateLimiter(requestOtpBulkIpCapacity, requestOtpBulkIpPeriodMs, maxKeys);
+        this.requestOtpRejected = Counter.builder("rate.limit.rejected")
+                .tag("endpoint", "request-otp")
+                .register(meterRegistry);
+        this.verifyOtpRejected = Counter.builder("rate.limit.rejected")
+                .tag("endpoint", "verify-otp")
+                .register(meterRegistry);
+        this.requestOtpBulkRejected = Counter.builder("rate.limit.rejected")
+                .tag("endpoint", "request-otp-bulk")
+                .register(meterRegistry);
+        Gauge.builder("rate.limit.keys", this, RateLimitService::trackedKeys)
+                .description("Keys currently tracked by the rate limiters")
+                .register(meterRegistry);
+    }
+
+    public void checkRequestOtp(String ipAddress, String email) {
+        check(requestOtpByIp, requestOtpByEmail, requestOtpRejected, ipAddress, email);
+    }
+
+    public void checkVerifyOtp(String ipAddress, String email) {
+        check(verifyOtpByIp, verifyOtpByEmail, verifyOtpRejected, ipAddress, email);
+    }
+
+    /**
+     * Limits how many bulk batches one caller may submit; each email in a batch is then checked with
+     * {@link #tryAcquireRequestOtpEmail}.
+     */
+    public void checkRequestOtpBulk(String ipAddress) {
+        check(requestOtpBulkByIp, null, requestOtpBulkRejected, ipAddress, null);
+    }
+
+    /**
+     * Takes one request-otp slot for {@code email} without throwing, for callers that report limited emails
+     * individually.
+     */
+    public boolean tryAcquireRequestOtpEmail(String email) {
+        if (!enabled || requestOtpByEmail.tryAcquire(normalize(email))) {
+            return true;
+        }
+        requestOtpRejected.increment();
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleKeys() {
+        int evicted = requestOtpByEmail.evictIdle() + requestOtpByIp.evictIdle()
+                + verifyOtpByEmail.evictIdle() + verifyOtpByIp.evictIdle() + requestOtpBulkByIp.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit keys", evicted);
+        }
+    }
+
+    private void check(KeyedRateLimiter byIp, KeyedRateLimiter byEmail, Counter rejected, String ipAddress, String email) {
+        if (!enabled) {
+            return;
+        }
+        if (!byIp.tryAcquire(ipAddress) || (email != null && !byEmail.tryAcquire(normalize(email)))) {
+            rejected.increment();
+            throw new RateLimitExceededException("Too many requests. Please try again later.");
+        }
+    }
+
+    private int trackedKeys() {
+        return requestOtpByEmail.size() + requestOtpByIp.size() + verifyOtpByEmail.size() + verifyOtpByIp.size()
+                + requestOtpBulkByIp.size();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
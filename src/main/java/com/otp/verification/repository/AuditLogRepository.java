@@ -1,18 +1,67 @@
 package com.otp.verification.repository;
 
+import com.otp.verification.dto.AuditLogEntry;
 import com.otp.verification.entity.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
+    String SELECT_ENTRY = "SELECT new com.otp.verification.dto.AuditLogEntry(a.id, a.createdAt, a.action, " +
+            "a.entityType, a.entityId, a.status, a.ipAddress, a.details) FROM AuditLog a ";
+    String IN_RANGE = "a.createdAt >= :from AND a.createdAt < :to ";
+    String AFTER_CURSOR = "AND a.createdAt >= :afterCreatedAt " +
+            "AND (a.createdAt > :afterCreatedAt OR (a.createdAt = :afterCreatedAt AND a.id > :afterId)) ";
+    String KEYSET_ORDER = "ORDER BY a.createdAt, a.id";
+    String EXPORT_FETCH_SIZE = "1000";
+
     List<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId);
 
     List<AuditLog> findByAction(String action);
 
     List<AuditLog> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query(SELECT_ENTRY + "WHERE " + IN_RANGE + AFTER_CURSOR + KEYSET_ORDER)
+    List<AuditLogEntry> findPage(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                 @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+                                 Pageable pageable);
+
+    @Query(SELECT_ENTRY + "WHERE a.action = :action AND " + IN_RANGE + AFTER_CURSOR + KEYSET_ORDER)
+    List<AuditLogEntry> findPageByAction(@Param("action") String action,
+                                         @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                         @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @Query(SELECT_ENTRY + "WHERE a.entityType = :entityType AND a.entityId = :entityId AND " + IN_RANGE + AFTER_CURSOR + KEYSET_ORDER)
+    List<AuditLogEntry> findPageByEntity(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                         @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                         @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_ENTRY + "WHERE " + IN_RANGE + KEYSET_ORDER)
+    Stream<AuditLogEntry> streamRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_ENTRY + "WHERE a.action = :action AND " + IN_RANGE + KEYSET_ORDER)
+    Stream<AuditLogEntry> streamRangeByAction(@Param("action") String action,
+                                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_ENTRY + "WHERE a.entityType = :entityType AND a.entityId = :entityId AND " + IN_RANGE + KEYSET_ORDER)
+    Stream<AuditLogEntry> streamRangeByEntity(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
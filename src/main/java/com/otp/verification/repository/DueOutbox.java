@@ -0,0 +1,17 @@
+package com.otp.verification.repository;
+
+import com.otp.verification.entity.EmailOutbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface projection for the outbox poller: enough to route an entry to its lane and order it by deadline.
+ */
+public interface DueOutbox {
+
+    Long getId();
+
+    EmailOutbox.Type getType();
+
+    LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,78 @@
+package com.otp.verification.repository;
+
+import com.otp.verification.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT o.id AS id, o.type AS type, o.expiresAt AS expiresAt FROM EmailOutbox o " +
+            "WHERE o.status = :status AND o.type IN :types AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt")
+    List<DueOutbox> findDue(@Param("status") EmailOutbox.Status status, @Param("types") Collection<EmailOutbox.Type> types,
+                            @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox o SET o.attempts = o.attempts + 1, o.nextAttemptAt = :leaseUntil " +
+            "WHERE o.id = :id AND o.status = :status AND o.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("status") EmailOutbox.Status status,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Hands a claimed entry back without counting the attempt, for sends that were never tried.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox o SET o.attempts = o.attempts - 1, o.nextAttemptAt = :nextAttemptAt WHERE o.id = :id")
+    int defer(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    // entries that reach a terminal state drop their payload (the OTP for OTP mail), and next_attempt_at records
+    // when they got there so the reaper can find them on the (status, next_attempt_at) index
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox o SET o.status = :status, o.sentAt = :sentAt, o.nextAttemptAt = :sentAt, " +
+            "o.payload = null, o.lastError = null WHERE o.id = :id")
+    int markSent(@Param("id") Long id, @Param("status") EmailOutbox.Status status, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox o SET o.status = :status, o.sentAt = :sentAt, o.nextAttemptAt = :sentAt, " +
+            "o.payload = null, o.lastError = null WHERE o.id IN :ids")
+    int markAllSent(@Param("ids") List<Long> ids, @Param("status") EmailOutbox.Status status, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox o SET o.status = :status, o.nextAttemptAt = :nextAttemptAt, o.lastError = :error WHERE o.id = :id")
+    int markAttemptFailed(@Param("id") Long id, @Param("status") EmailOutbox.Status status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    /**
+     * Gives up on an entry as {@code FAILED} or {@code EXPIRED}.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox o SET o.status = :status, o.nextAttemptAt = :finishedAt, o.payload = null, " +
+            "o.lastError = :error WHERE o.id = :id")
+    int markFinished(@Param("id") Long id, @Param("status") EmailOutbox.Status status,
+                     @Param("finishedAt") LocalDateTime finishedAt, @Param("error") String error);
+
+    @Query("SELECT o.id FROM EmailOutbox o WHERE o.status = :status AND o.nextAttemptAt < :cutoff ORDER BY o.nextAttemptAt")
+    List<Long> findFinishedIds(@Param("status") EmailOutbox.Status status, @Param("cutoff") LocalDateTime cutoff,
+                               Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
@@ -2,10 +2,13 @@ package com.otp.verification.repository;
 
 import com.otp.verification.entity.OtpToken;
 import com.otp.verification.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -23,6 +26,30 @@ public interface OtpTokenRepository extends JpaRepository<OtpToken, Long> {
 
     List<OtpToken> findByUserAndIsUsedTrue(User user);
 
-    @Query("DELETE FROM OtpToken o WHERE o.expiryTime < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Modifying
+    @Query("UPDATE OtpToken o SET o.isUsed = true WHERE o.user.id = :userId AND o.otp = :otp AND o.isUsed = false " +
+            "AND o.expiryTime > :now AND o.attemptCount < :maxAttempts")
+    int consume(@Param("userId") Long userId, @Param("otp") String otp,
+                @Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("UPDATE OtpToken o SET o.attemptCount = o.attemptCount + 1 " +
+            "WHERE o.user.id = :userId AND o.isUsed = false AND o.expiryTime > :now")
+    int incrementAttempts(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT o FROM OtpToken o WHERE o.user.id = :userId AND o.isUsed = false " +
+            "AND (o.otp = :otp OR o.expiryTime > :now)")
+    List<OtpToken> findUnusedMatchingOrActive(@Param("userId") Long userId, @Param("otp") String otp,
+                                              @Param("now") LocalDateTime now);
+
+    @Query("SELECT o.id FROM OtpToken o WHERE o.expiryTime < :now ORDER BY o.expiryTime")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT o.id FROM OtpToken o WHERE o.isUsed = true ORDER BY o.id")
+    List<Long> findUsedIds(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OtpToken o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
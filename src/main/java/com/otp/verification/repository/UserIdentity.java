@@ -0,0 +1,11 @@
+package com.otp.verification.repository;
+
+/**
+ * Interface projection for flows that only need to address a user, so no entity is loaded or dirty-checked.
+ */
+public interface UserIdentity {
+
+    Long getId();
+
+    String getEmail();
+}
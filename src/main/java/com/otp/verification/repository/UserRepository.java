@@ -1,9 +1,16 @@
 package com.otp.verification.repository;
 
+import com.otp.verification.cache.UserSummary;
 import com.otp.verification.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT new com.otp.verification.cache.UserSummary(u.id, u.email, u.password, u.firstName, u.lastName, " +
+            "u.emailVerified) FROM User u WHERE u.email = :email")
+    Optional<UserSummary> findSummaryByEmail(@Param("email") String email);
+
+    List<UserIdentity> findIdentitiesByEmailIn(Collection<String> emails);
+
+    @Modifying
+    @Query("UPDATE User u SET u.emailVerified = true, u.updatedAt = :now WHERE u.id = :id AND u.emailVerified = false")
+    int markEmailVerified(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :now WHERE u.id = :id AND u.password = :previous")
+    int updatePasswordHash(@Param("id") Long id, @Param("previous") String previous, @Param("password") String password,
+                           @Param("now") LocalDateTime now);
 }
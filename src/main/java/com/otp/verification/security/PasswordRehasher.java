@@ -0,0 +1,62 @@
+package com.otp.verification.security;
+
+import com.otp.verification.cache.UserLookupCache;
+import com.otp.verification.cache.UserSummary;
+import com.otp.verification.exception.ServiceOverloadedException;
+import com.otp.verification.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Upgrades a stored hash to the configured BCrypt cost after a successful login. The new hash is computed and
+ * written from the hashing pool in its own transaction, so the login stays read-only and does not wait for a
+ * second BCrypt round.
+ */
+@Component
+@Slf4j
+public class PasswordRehasher {
+
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public PasswordRehasher(BoundedPasswordEncoder passwordEncoder,
+                            UserRepository userRepository,
+                            UserLookupCache userLookupCache,
+                            PlatformTransactionManager transactionManager) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public CompletableFuture<Void> rehashIfNeeded(UserSummary user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.passwordHash())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return passwordEncoder.encodeAsync(rawPassword)
+                .thenAccept(rehashed -> {
+                    Integer updated = transactionTemplate.execute(status -> userRepository.updatePasswordHash(
+                            user.id(), user.passwordHash(), rehashed, LocalDateTime.now()));
+                    if (updated != null && updated > 0) {
+                        userLookupCache.invalidate(user.email());
+                        log.debug("Rehashed password for user {} at the configured BCrypt cost", user.id());
+                    }
+                })
+                .exceptionally(e -> {
+                    if (e.getCause() instanceof ServiceOverloadedException) {
+                        // the hash is upgraded on a later, quieter login
+                        log.debug("Skipped password rehash for user {}: {}", user.id(), e.getCause().getMessage());
+                    } else {
+                        log.warn("Password rehash failed for user {}", user.id(), e);
+                    }
+                    return null;
+                });
+    }
+}
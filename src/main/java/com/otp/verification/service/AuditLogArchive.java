@@ -0,0 +1,128 @@
+package com.otp.verification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.otp.verification.dto.AuditLogEntry;
+import com.otp.verification.dto.AuditLogQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped NDJSON files holding audit_logs partitions that aged out of the database. Each file covers
+ * [from, to) and is named {@code audit_logs.<from>.<to>.ndjson.gz} so searches only open overlapping files.
+ */
+@Component
+@Slf4j
+public class AuditLogArchive {
+
+    private static final Pattern FILE_NAME = Pattern.compile("audit_logs\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d{4}-\\d{2}-\\d{2})\\.ndjson\\.gz");
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    public AuditLogArchive(ObjectMapper objectMapper,
+                           @Value("${audit.partitioning.archive-dir:./archive/audit-logs}") String directory) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Writes the entries produced by {@code producer} to the archive file for [from, to). The file only
+     * becomes visible once fully written; returns the number of entries written.
+     */
+    public long write(LocalDate from, LocalDate to, Consumer<Consumer<AuditLogEntry>> producer) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve("audit_logs." + from + "." + to + ".ndjson.gz");
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        long[] written = {0};
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            producer.accept(entry -> {
+                try {
+                    writer.write(objectMapper.writeValueAsString(entry));
+                    writer.write('\n');
+                    written[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written[0];
+    }
+
+    public void search(AuditLogQuery query, Consumer<AuditLogEntry> sink) {
+        for (Path file : overlappingFiles(query)) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    AuditLogEntry entry = objectMapper.readValue(line, AuditLogEntry.class);
+                    if (matches(query, entry)) {
+                        sink.accept(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit archive " + file, e);
+            }
+        }
+    }
+
+    private List<Path> overlappingFiles(AuditLogQuery query) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(file -> {
+                        Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                        return matcher.matches()
+                                && LocalDate.parse(matcher.group(1)).atStartOfDay().isBefore(query.getTo())
+                                && LocalDate.parse(matcher.group(2)).atStartOfDay().isAfter(query.getFrom());
+                    })
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list audit archive " + directory, e);
+        }
+        return files;
+    }
+
+    private boolean matches(AuditLogQuery query, AuditLogEntry entry) {
+        if (entry.getCreatedAt().isBefore(query.getFrom()) || !entry.getCreatedAt().isBefore(query.getTo())) {
+            return false;
+        }
+        if (query.getAction() != null && !query.getAction().equals(entry.getAction())) {
+            return false;
+        }
+        return query.getEntityType() == null
+                || query.getEntityType().equals(entry.getEntityType()) && Objects.equals(query.getEntityId(), entry.getEntityId());
+    }
+}
@@ -0,0 +1,249 @@
+package com.otp.verification.service;
+
+import com.otp.verification.dto.AuditLogEntry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps audit_logs (RANGE COLUMNS on created_at, see V4__partition_audit_logs.sql) rolled forward: monthly
+ * partitions are split off the empty p_future ahead of time, and partitions whose upper bound falls outside
+ * the retention window are written to {@link AuditLogArchive} and then dropped. Only acts on MySQL. Every node
+ * runs the schedule, so a run first takes a named lock ({@code GET_LOCK}) and skips if another node holds it.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AuditLogPartitionManager implements MeterBinder {
+
+    private static final String MAINTENANCE_LOCK = "otp.audit_logs.partition_maintenance";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final String LEGACY_PARTITION = "p_legacy";
+    private static final Pattern PARTITION_NAME = Pattern.compile("p_legacy|p\\d{6}");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final LocalDate LEGACY_START = LocalDate.of(1970, 1, 1);
+    private static final String PARTITIONS_SQL = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogArchive archive;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final int fetchSize;
+    private final boolean archiveShared;
+    private final boolean clusterEnabled;
+
+    private final AtomicLong archivedPartitions = new AtomicLong();
+    private final AtomicLong archivedRows = new AtomicLong();
+    private volatile int partitionCount;
+    private volatile Boolean supported;
+
+    public AuditLogPartitionManager(JdbcTemplate jdbcTemplate,
+                                    AuditLogArchive archive,
+                                    @Value("${audit.partitioning.months-ahead:3}") int monthsAhead,
+                                    @Value("${audit.partitioning.retention-months:12}") int retentionMonths,
+                                    @Value("${audit.partitioning.archive-fetch-size:1000}") int fetchSize,
+                                    @Value("${audit.partitioning.archive-shared:false}") boolean archiveShared,
+                                    @Value("${cluster.enabled:false}") boolean clusterEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = archive;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.fetchSize = fetchSize;
+        this.archiveShared = archiveShared;
+        this.clusterEnabled = clusterEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        // whichever node archives a partition, every node must be able to serve it afterwards
+        if (clusterEnabled && !archiveShared && isSupported()) {
+            throw new IllegalStateException("cluster.enabled=true requires audit.partitioning.archive-dir to be a "
+                    + "location shared by all nodes; confirm with audit.partitioning.archive-shared=true");
+        }
+        maintain();
+    }
+
+    @Scheduled(cron = "${audit.partitioning.cron:0 15 0 * * *}")
+    public void maintain() {
+        if (!isSupported()) {
+            return;
+        }
+        try {
+            // GET_LOCK belongs to the connection, so it is held on this one while the work uses the pool
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!lock(connection, "SELECT GET_LOCK(?, 0)")) {
+                    log.info("Audit log partition maintenance is running on another node; skipping");
+                    return null;
+                }
+                try {
+                    createFuturePartitions();
+                    archiveExpiredPartitions();
+                    partitionCount = partitions().size();
+                } finally {
+                    lock(connection, "SELECT RELEASE_LOCK(?)");
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Audit log partition maintenance failed", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.partitions", this, manager -> manager.partitionCount)
+                .description("Partitions currently attached to audit_logs")
+                .register(registry);
+        FunctionCounter.builder("audit.archive.partitions", archivedPartitions, AtomicLong::get)
+                .description("audit_logs partitions archived and dropped")
+                .register(registry);
+        FunctionCounter.builder("audit.archive.rows", archivedRows, AtomicLong::get)
+                .description("audit_logs rows written to the archive")
+                .register(registry);
+    }
+
+    private void createFuturePartitions() {
+        List<Partition> partitions = partitions();
+        LocalDate highestBound = partitions.stream()
+                .filter(partition -> partition.upperBound() != null)
+                .map(Partition::upperBound)
+                .max(LocalDate::compareTo)
+                .orElseThrow(() -> new IllegalStateException("audit_logs is not partitioned"));
+
+        LocalDate horizon = YearMonth.now().plusMonths(monthsAhead + 1L).atDay(1);
+        for (LocalDate start = highestBound; start.isBefore(horizon); start = start.plusMonths(1)) {
+            String name = "p" + start.format(MONTH_SUFFIX);
+            // p_future stays empty as long as we are ahead of the clock, so this split moves no rows
+            jdbcTemplate.execute("ALTER TABLE audit_logs REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                    "PARTITION " + name + " VALUES LESS THAN ('" + start.plusMonths(1) + "'), " +
+                    "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            log.info("Created audit_logs partition {} for {}", name, YearMonth.from(start));
+        }
+    }
+
+    private void archiveExpiredPartitions() {
+        LocalDate cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+        for (Partition partition : partitions()) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                break;
+            }
+            archive(partition);
+        }
+    }
+
+    private void archive(Partition partition) {
+        if (!PARTITION_NAME.matcher(partition.name()).matches()) {
+            throw new IllegalStateException("Unexpected audit_logs partition " + partition.name());
+        }
+        LocalDate lowerBound = partition.name().equals(LEGACY_PARTITION)
+                ? LEGACY_START
+                : YearMonth.parse(partition.name().substring(1), MONTH_SUFFIX).atDay(1);
+        long startedAt = System.currentTimeMillis();
+        Long expected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_logs PARTITION (" + partition.name() + ")", Long.class);
+        String selectSql = "SELECT id, created_at, action, entity_type, entity_id, status, ip_address, details " +
+                "FROM audit_logs PARTITION (" + partition.name() + ") ORDER BY created_at, id";
+
+        long written;
+        try {
+            written = archive.write(lowerBound, partition.upperBound(), sink -> jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(selectSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, resultSet -> {
+                sink.accept(toEntry(resultSet));
+            }));
+        } catch (Exception e) {
+            log.error("Failed to archive audit_logs partition {}; leaving it attached", partition.name(), e);
+            return;
+        }
+
+        if (expected == null || written != expected) {
+            log.error("Archive of audit_logs partition {} wrote {} of {} rows; leaving it attached",
+                    partition.name(), written, expected);
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE audit_logs DROP PARTITION " + partition.name());
+        archivedPartitions.incrementAndGet();
+        archivedRows.addAndGet(written);
+        log.info("Archived and dropped audit_logs partition {} ({} rows, {} ms)",
+                partition.name(), written, System.currentTimeMillis() - startedAt);
+    }
+
+    private AuditLogEntry toEntry(ResultSet resultSet) throws SQLException {
+        return AuditLogEntry.builder()
+                .id(resultSet.getLong("id"))
+                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                .action(resultSet.getString("action"))
+                .entityType(resultSet.getString("entity_type"))
+                .entityId(resultSet.getObject("entity_id", Long.class))
+                .status(resultSet.getString("status"))
+                .ipAddress(resultSet.getString("ip_address"))
+                .details(resultSet.getString("details"))
+                .build();
+    }
+
+    private static boolean lock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, MAINTENANCE_LOCK);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (resultSet, rowNum) -> {
+            String description = resultSet.getString("PARTITION_DESCRIPTION");
+            LocalDate upperBound = "MAXVALUE".equalsIgnoreCase(description)
+                    ? null
+                    : LocalDate.parse(description.replace("'", "").substring(0, 10));
+            return new Partition(resultSet.getString("PARTITION_NAME"), upperBound);
+        });
+    }
+
+    private boolean isSupported() {
+        if (supported == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                supported = "MySQL".equalsIgnoreCase(product);
+            } catch (Exception e) {
+                log.warn("Could not determine database product; audit log partitioning disabled", e);
+                supported = false;
+            }
+            if (!supported) {
+                log.info("audit_logs partition maintenance only runs on MySQL; skipping");
+            }
+        }
+        return supported;
+    }
+
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
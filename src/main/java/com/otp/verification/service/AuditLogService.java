@@ -1,16 +1,18 @@
 package com.otp.verification.service;
 
-import com.otp.verification.entity.AuditLog;
-import java.time.LocalDateTime;
-import java.util.List;
+import com.otp.verification.dto.AuditLogEntry;
+import com.otp.verification.dto.AuditLogPage;
+import com.otp.verification.dto.AuditLogQuery;
+
+import java.util.function.Consumer;
 
 public interface AuditLogService {
 
     void logAction(String action, String entityType, Long entityId, String details, String status);
 
-    List<AuditLog> getAuditLogs(String entityType, Long entityId);
+    AuditLogPage getAuditLogs(AuditLogQuery query, String cursor, int limit);
 
-    List<AuditLog> getAuditLogsByAction(String action);
+    void exportAuditLogs(AuditLogQuery query, Consumer<AuditLogEntry> sink);
 
-    List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    void exportArchivedAuditLogs(AuditLogQuery query, Consumer<AuditLogEntry> sink);
 }
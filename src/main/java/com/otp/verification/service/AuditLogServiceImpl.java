@@ -1,17 +1,29 @@
 package com.otp.verification.service;
 
+import com.otp.verification.dto.AuditLogEntry;
+import com.otp.verification.dto.AuditLogPage;
+import com.otp.verification.dto.AuditLogQuery;
 import com.otp.verification.entity.AuditLog;
+import com.otp.verification.exception.InvalidAuditQueryException;
 import com.otp.verification.repository.AuditLogRepository;
 import com.otp.verification.util.IpAddressUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,8 +31,13 @@ import java.util.List;
 public class AuditLogServiceImpl implements AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditLogArchive auditLogArchive;
     private final IpAddressUtil ipAddressUtil;
 
+    @Value("${audit.query.max-page-size:500}")
+    private int maxPageSize;
+
     @Override
     public void logAction(String action, String entityType, Long entityId, String details, String status) {
         try {
@@ -33,32 +50,115 @@ public class AuditLogServiceImpl implements AuditLogService {
                     .details(details)
                     .ipAddress(ipAddress)
                     .status(status)
+                    .createdAt(LocalDateTime.now())
                     .build();
 
-            auditLogRepository.save(auditLog);
-            log.info("Audit log saved - Action: {}, Status: {}", action, status);
+            if (auditLogWriter.enqueue(auditLog)) {
+                log.debug("Audit log queued - Action: {}, Status: {}", action, status);
+            }
         } catch (Exception e) {
-            log.error("Failed to save audit log", e);
+            log.error("Failed to queue audit log", e);
         }
     }
 
     @Override
-    public List<AuditLog> getAuditLogs(String entityType, Long entityId) {
-        return auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId);
+    @Transactional(readOnly = true)
+    public AuditLogPage getAuditLogs(AuditLogQuery query, String cursor, int limit) {
+        validate(query);
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        Pageable pageable = PageRequest.of(0, pageSize);
+
+        LocalDateTime afterCreatedAt = query.getFrom();
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterCreatedAt = LocalDateTime.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+
+        List<AuditLogEntry> items;
+        if (query.getAction() != null) {
+            items = auditLogRepository.findPageByAction(query.getAction(), query.getFrom(), query.getTo(),
+                    afterCreatedAt, afterId, pageable);
+        } else if (query.getEntityType() != null) {
+            items = auditLogRepository.findPageByEntity(query.getEntityType(), query.getEntityId(),
+                    query.getFrom(), query.getTo(), afterCreatedAt, afterId, pageable);
+        } else {
+            items = auditLogRepository.findPage(query.getFrom(), query.getTo(), afterCreatedAt, afterId, pageable);
+        }
+
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            AuditLogEntry last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return AuditLogPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
-    public List<AuditLog> getAuditLogsByAction(String action) {
-        return auditLogRepository.findByAction(action);
+    @Transactional(readOnly = true)
+    public void exportAuditLogs(AuditLogQuery query, Consumer<AuditLogEntry> sink) {
+        validate(query);
+        Stream<AuditLogEntry> entries;
+        if (query.getAction() != null) {
+            entries = auditLogRepository.streamRangeByAction(query.getAction(), query.getFrom(), query.getTo());
+        } else if (query.getEntityType() != null) {
+            entries = auditLogRepository.streamRangeByEntity(query.getEntityType(), query.getEntityId(),
+                    query.getFrom(), query.getTo());
+        } else {
+            entries = auditLogRepository.streamRange(query.getFrom(), query.getTo());
+        }
+        try (entries) {
+            entries.forEach(sink);
+        }
     }
 
     @Override
-    public List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return auditLogRepository.findByCreatedAtBetween(startDate, endDate);
+    public void exportArchivedAuditLogs(AuditLogQuery query, Consumer<AuditLogEntry> sink) {
+        validate(query);
+        auditLogArchive.search(query, sink);
+    }
+
+    private void validate(AuditLogQuery query) {
+        if (query.getFrom() == null || query.getTo() == null || !query.getFrom().isBefore(query.getTo())) {
+            throw new InvalidAuditQueryException("A time range with 'from' before 'to' is required");
+        }
+        if ((query.getEntityType() == null) != (query.getEntityId() == null)) {
+            throw new InvalidAuditQueryException("'entityType' and 'entityId' must be given together");
+        }
+        if (query.getAction() != null && query.getEntityType() != null) {
+            throw new InvalidAuditQueryException("Filter by either action or entity, not both");
+        }
+    }
+
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String position = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new InvalidAuditQueryException("Invalid cursor", e);
+        }
     }
 
     private String getClientIpAddress() {
         try {
+            String boundIpAddress = ipAddressUtil.getBoundClientIpAddress();
+            if (boundIpAddress != null) {
+                return boundIpAddress;
+            }
             ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
             if (attributes != null) {
                 HttpServletRequest request = attributes.getRequest();
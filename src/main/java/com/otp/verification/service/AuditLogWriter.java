@@ -0,0 +1,225 @@
+package com.otp.verification.service;
+
+import com.otp.verification.entity.AuditLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers audit entries in a bounded ring buffer and writes them with batched JDBC inserts,
+ * flushing whenever a batch fills up or the flush interval elapses.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter implements MeterBinder {
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(action, entity_type, entity_id, details, ip_address, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutMs;
+    private final boolean virtualThreads;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread drainThread;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          Environment environment,
+                          @Value("${audit.writer.capacity:10000}") int capacity,
+                          @Value("${audit.writer.batch-size:200}") int batchSize,
+                          @Value("${audit.writer.flush-interval-ms:500}") long flushIntervalMs,
+                          @Value("${audit.writer.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                          @Value("${audit.writer.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        if (virtualThreads) {
+            drainThread = new VirtualThreadTaskExecutor("audit-log-writer-").getVirtualThreadFactory().newThread(this::drainLoop);
+        } else {
+            drainThread = new Thread(this::drainLoop, "audit-log-writer");
+            drainThread.setDaemon(true);
+        }
+        drainThread.start();
+    }
+
+    public boolean enqueue(AuditLog auditLog) {
+        boolean accepted;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                accepted = buffer.offer(auditLog, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = buffer.offer(auditLog);
+        }
+
+        if (accepted) {
+            enqueued.incrementAndGet();
+        } else if (dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Audit buffer full, dropped {} entries so far", dropped.get());
+        }
+        return accepted;
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.currentTimeMillis();
+        while (running) {
+            try {
+                long waitMs = Math.max(1, flushIntervalMs - (System.currentTimeMillis() - lastFlush));
+                AuditLog first = buffer.poll(waitMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+                if (batch.size() >= batchSize
+                        || (!batch.isEmpty() && System.currentTimeMillis() - lastFlush >= flushIntervalMs)) {
+                    flush(batch);
+                    lastFlush = System.currentTimeMillis();
+                } else if (batch.isEmpty()) {
+                    lastFlush = System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                log.error("Audit writer loop failed", e);
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.warn("Batched audit insert of {} rows failed, retrying row by row", batch.size(), e);
+            for (AuditLog auditLog : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, auditLog));
+                    written.incrementAndGet();
+                } catch (Exception rowError) {
+                    failed.incrementAndGet();
+                    log.error("Failed to save audit log - Action: {}", auditLog.getAction(), rowError);
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private void bind(PreparedStatement ps, AuditLog auditLog) throws SQLException {
+        ps.setString(1, auditLog.getAction());
+        ps.setString(2, auditLog.getEntityType());
+        if (auditLog.getEntityId() != null) {
+            ps.setLong(3, auditLog.getEntityId());
+        } else {
+            ps.setNull(3, Types.BIGINT);
+        }
+        ps.setString(4, auditLog.getDetails());
+        ps.setString(5, auditLog.getIpAddress());
+        ps.setString(6, auditLog.getStatus());
+        ps.setTimestamp(7, Timestamp.valueOf(auditLog.getCreatedAt()));
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.writer.buffered", buffer, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.entries", enqueued, AtomicLong::get)
+                .tag("result", "enqueued")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.entries", dropped, AtomicLong::get)
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.entries", written, AtomicLong::get)
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.entries", failed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        drainThread.interrupt();
+        drainThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<AuditLog> remaining = new ArrayList<>(buffer.size());
+        buffer.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(new ArrayList<>(remaining.subList(from, Math.min(from + batchSize, remaining.size()))));
+        }
+        log.info("Audit writer stopped - written: {}, dropped: {}, failed: {}", written.get(), dropped.get(), failed.get());
+    }
+}
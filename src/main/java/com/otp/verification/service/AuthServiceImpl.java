@@ -1,16 +1,19 @@
 package com.otp.verification.service;
 
+import com.otp.verification.cache.UserLookupCache;
+import com.otp.verification.cache.UserSummary;
 import com.otp.verification.dto.AuthResponse;
 import com.otp.verification.dto.OtpVerificationRequest;
 import com.otp.verification.dto.RegisterRequest;
 import com.otp.verification.dto.UserDto;
-import com.otp.verification.entity.OtpToken;
 import com.otp.verification.entity.User;
 import com.otp.verification.exception.InvalidOtpException;
 import com.otp.verification.exception.UserAlreadyExistsException;
 import com.otp.verification.exception.UserNotFoundException;
-import com.otp.verification.repository.OtpTokenRepository;
 import com.otp.verification.repository.UserRepository;
+import com.otp.verification.security.PasswordRehasher;
+import com.otp.verification.store.OtpTokenStore;
+import com.otp.verification.store.OtpVerificationOutcome;
 import com.otp.verification.util.JwtUtil;
 import com.otp.verification.util.OtpUtil;
 import lombok.RequiredArgsConstructor;
@@ -27,32 +30,40 @@ import java.time.LocalDateTime;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final OtpTokenRepository otpTokenRepository;
-    private final EmailService emailService;
+    private final UserLookupCache userLookupCache;
+    private final OtpTokenStore otpTokenStore;
+    private final EmailOutboxService emailOutboxService;
     private final JwtUtil jwtUtil;
     private final OtpUtil otpUtil;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordRehasher passwordRehasher;
     private final AuditLogService auditLogService;
 
-    private static final long OTP_EXPIRATION_MINUTES = 15;
+    static final long OTP_EXPIRATION_MINUTES = 15;
+    private static final int MAX_OTP_ATTEMPTS = 3;
 
+    /**
+     * Not transactional: the BCrypt hash is computed before the save, whose own short transaction is the only one
+     * that holds a pooled connection.
+     */
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         try {
-            if (userRepository.existsByEmail(request.getEmail())) {
+            if (userLookupCache.findByEmail(request.getEmail()).isPresent()) {
                 throw new UserAlreadyExistsException("User with email " + request.getEmail() + " already exists");
             }
 
+            String passwordHash = passwordEncoder.encode(request.getPassword());
             User user = User.builder()
                     .email(request.getEmail())
-                    .password(passwordEncoder.encode(request.getPassword()))
+                    .password(passwordHash)
                     .firstName(request.getFirstName())
                     .lastName(request.getLastName())
                     .emailVerified(false)
                     .build();
 
             user = userRepository.save(user);
+            userLookupCache.invalidate(request.getEmail());
             log.info("User registered successfully: {}", request.getEmail());
             
             auditLogService.logAction("USER_REGISTRATION", "User", user.getId(), 
@@ -76,29 +87,19 @@ public class AuthServiceImpl implements AuthService {
     @Transactional
     public AuthResponse requestOtp(String email) {
         try {
-            User user = userRepository.findByEmail(email)
+            UserSummary user = userLookupCache.findByEmail(email)
                     .orElseThrow(() -> new UserNotFoundException("User with email " + email + " not found"));
 
-            // Delete expired tokens
-            otpTokenRepository.deleteExpiredTokens(LocalDateTime.now());
-
             String otp = otpUtil.generateOtp();
-            String token = jwtUtil.generateToken(email);
             LocalDateTime expiryTime = LocalDateTime.now().plusMinutes(OTP_EXPIRATION_MINUTES);
+            String token = jwtUtil.generateToken(email, otpTokenStore.tokenClaims(user.id(), otp, expiryTime));
 
-            OtpToken otpToken = OtpToken.builder()
-                    .user(user)
-                    .otp(otp)
-                    .token(token)
-                    .expiryTime(expiryTime)
-                    .build();
-
-            otpToken = otpTokenRepository.save(otpToken);
+            otpTokenStore.save(user.id(), otp, token, expiryTime);
             
-            emailService.sendOtpEmail(email, otp);
-            log.info("OTP sent successfully to: {}", email);
+            emailOutboxService.enqueueOtpEmail(email, otp, expiryTime);
+            log.info("OTP queued for delivery to: {}", email);
             
-            auditLogService.logAction("OTP_REQUEST", "User", user.getId(), 
+            auditLogService.logAction("OTP_REQUEST", "User", user.id(), 
                     "OTP requested for email: " + email, "SUCCESS");
 
             return AuthResponse.builder()
@@ -116,44 +117,43 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
+    @Transactional(noRollbackFor = InvalidOtpException.class)
     public AuthResponse verifyOtp(OtpVerificationRequest request) {
         try {
             if (!otpUtil.isValidOtp(request.getOtp())) {
                 throw new InvalidOtpException("OTP format is invalid");
             }
 
-            User user = userRepository.findByEmail(request.getEmail())
+            UserSummary user = userLookupCache.findByEmail(request.getEmail())
                     .orElseThrow(() -> new UserNotFoundException("User with email " + request.getEmail() + " not found"));
 
-            OtpToken otpToken = otpTokenRepository.findByUserAndOtpAndIsUsedFalse(user, request.getOtp())
-                    .orElseThrow(() -> new InvalidOtpException("Invalid OTP"));
-
-            if (LocalDateTime.now().isAfter(otpToken.getExpiryTime())) {
-                throw new InvalidOtpException("OTP has expired");
+            OtpVerificationOutcome outcome = otpTokenStore.verify(user.id(), request.getOtp(), request.getToken(), MAX_OTP_ATTEMPTS);
+            switch (outcome) {
+                case INVALID -> throw new InvalidOtpException("Invalid OTP");
+                case EXPIRED -> throw new InvalidOtpException("OTP has expired");
+                case MAX_ATTEMPTS_EXCEEDED -> throw new InvalidOtpException("Maximum attempts exceeded");
+                case VERIFIED -> log.debug("OTP accepted for: {}", request.getEmail());
             }
 
-            if (otpToken.getAttemptCount() >= 3) {
-                throw new InvalidOtpException("Maximum attempts exceeded");
+            // the cached summary may be stale, so only the request whose update flips the flag sends the welcome
+            if (!user.emailVerified() && userRepository.markEmailVerified(user.id(), LocalDateTime.now()) == 1) {
+                userLookupCache.invalidate(request.getEmail());
+                emailOutboxService.enqueueWelcomeEmail(user.email(), user.firstName());
             }
-
-            otpToken.setIsUsed(true);
-            otpTokenRepository.save(otpToken);
-
-            user.setEmailVerified(true);
-            userRepository.save(user);
+            UserDto userDto = mapUserToDto(user);
+            userDto.setEmailVerified(true);
 
             String jwtToken = jwtUtil.generateToken(request.getEmail());
             log.info("Email verified successfully for: {}", request.getEmail());
             
-            auditLogService.logAction("OTP_VERIFICATION", "User", user.getId(), 
+            auditLogService.logAction("OTP_VERIFICATION", "User", user.id(), 
                     "Email verified for: " + request.getEmail(), "SUCCESS");
 
             return AuthResponse.builder()
                     .message("Email verified successfully")
                     .success(true)
                     .token(jwtToken)
-                    .user(mapUserToDto(user))
+                    .user(userDto)
                     .build();
 
         } catch (InvalidOtpException e) {
@@ -164,25 +164,30 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    /**
+     * Not transactional, so the password check never holds a pooled connection while it waits for the hashing
+     * executor; the cache lookup borrows one only on a miss.
+     */
     @Override
-    @Transactional
     public AuthResponse login(String email, String password) {
         try {
-            User user = userRepository.findByEmail(email)
+            UserSummary user = userLookupCache.findByEmail(email)
                     .orElseThrow(() -> new UserNotFoundException("User with email " + email + " not found"));
 
-            if (!passwordEncoder.matches(password, user.getPassword())) {
+            if (!passwordEncoder.matches(password, user.passwordHash())) {
                 throw new InvalidOtpException("Invalid password");
             }
 
-            if (!user.getEmailVerified()) {
+            if (!user.emailVerified()) {
                 throw new InvalidOtpException("Email not verified. Please verify your email first.");
             }
 
+            passwordRehasher.rehashIfNeeded(user, password);
+
             String token = jwtUtil.generateToken(email);
             log.info("User logged in successfully: {}", email);
             
-            auditLogService.logAction("USER_LOGIN", "User", user.getId(), 
+            auditLogService.logAction("USER_LOGIN", "User", user.id(), 
                     "User login successful", "SUCCESS");
 
             return AuthResponse.builder()
@@ -200,7 +205,7 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
-    private UserDto mapUserToDto(User user) {
+    static UserDto mapUserToDto(User user) {
         return UserDto.builder()
                 .id(user.getId())
                 .email(user.getEmail())
@@ -209,4 +214,14 @@ public class AuthServiceImpl implements AuthService {
                 .emailVerified(user.getEmailVerified())
                 .build();
     }
+
+    static UserDto mapUserToDto(UserSummary user) {
+        return UserDto.builder()
+                .id(user.id())
+                .email(user.email())
+                .firstName(user.firstName())
+                .lastName(user.lastName())
+                .emailVerified(user.emailVerified())
+                .build();
+    }
 }
@@ -0,0 +1,11 @@
+package com.otp.verification.service;
+
+import com.otp.verification.dto.BulkOtpResult;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BulkOtpService {
+
+    void requestOtps(List<String> emails, Consumer<List<BulkOtpResult>> resultSink);
+}
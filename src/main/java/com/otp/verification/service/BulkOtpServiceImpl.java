@@ -0,0 +1,142 @@
+package com.otp.verification.service;
+
+import com.otp.verification.dto.BulkOtpResult;
+import com.otp.verification.ratelimit.RateLimitService;
+import com.otp.verification.repository.UserIdentity;
+import com.otp.verification.repository.UserRepository;
+import com.otp.verification.store.OtpIssue;
+import com.otp.verification.store.OtpTokenStore;
+import com.otp.verification.util.JwtUtil;
+import com.otp.verification.util.OtpUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BulkOtpServiceImpl implements BulkOtpService {
+
+    private final UserRepository userRepository;
+    private final OtpTokenStore otpTokenStore;
+    private final EmailOutboxService emailOutboxService;
+    private final AuditLogService auditLogService;
+    private final RateLimitService rateLimitService;
+    private final JwtUtil jwtUtil;
+    private final OtpUtil otpUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkOtpServiceImpl(UserRepository userRepository,
+                              OtpTokenStore otpTokenStore,
+                              EmailOutboxService emailOutboxService,
+                              AuditLogService auditLogService,
+                              RateLimitService rateLimitService,
+                              JwtUtil jwtUtil,
+                              OtpUtil otpUtil,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${otp.bulk.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.otpTokenStore = otpTokenStore;
+        this.emailOutboxService = emailOutboxService;
+        this.auditLogService = auditLogService;
+        this.rateLimitService = rateLimitService;
+        this.jwtUtil = jwtUtil;
+        this.otpUtil = otpUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void requestOtps(List<String> emails, Consumer<List<BulkOtpResult>> resultSink) {
+        Set<String> seen = new HashSet<>();
+        List<BulkOtpResult> rejected = new ArrayList<>();
+        List<String> unique = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            if (email == null || email.isBlank() || !email.contains("@")) {
+                rejected.add(result(email, BulkOtpResult.Status.INVALID, null));
+            } else if (!seen.add(normalize(email))) {
+                rejected.add(result(email, BulkOtpResult.Status.DUPLICATE, null));
+            } else if (!rateLimitService.tryAcquireRequestOtpEmail(email)) {
+                rejected.add(result(email, BulkOtpResult.Status.RATE_LIMITED, null));
+            } else {
+                unique.add(email.trim());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            resultSink.accept(rejected);
+        }
+
+        for (int from = 0; from < unique.size(); from += chunkSize) {
+            List<String> chunk = unique.subList(from, Math.min(from + chunkSize, unique.size()));
+            List<BulkOtpResult> results;
+            try {
+                results = transactionTemplate.execute(status -> issueChunk(chunk));
+            } catch (Exception e) {
+                log.error("Bulk OTP issuance failed for a chunk of {} emails", chunk.size(), e);
+                results = chunk.stream()
+                        .map(email -> result(email, BulkOtpResult.Status.FAILED, null))
+                        .toList();
+            }
+            resultSink.accept(results);
+        }
+    }
+
+    private List<BulkOtpResult> issueChunk(List<String> emails) {
+        Map<String, UserIdentity> usersByEmail = userRepository.findIdentitiesByEmailIn(new LinkedHashSet<>(emails)).stream()
+                .collect(Collectors.toMap(user -> normalize(user.getEmail()), Function.identity(), (first, second) -> first));
+
+        LocalDateTime expiryTime = LocalDateTime.now().plusMinutes(AuthServiceImpl.OTP_EXPIRATION_MINUTES);
+        List<OtpIssue> issues = new ArrayList<>(usersByEmail.size());
+        List<BulkOtpResult> results = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            UserIdentity user = usersByEmail.get(normalize(email));
+            if (user == null) {
+                results.add(result(email, BulkOtpResult.Status.NOT_FOUND, null));
+                continue;
+            }
+            String otp = otpUtil.generateOtp();
+            // the token and mail use the stored address, whatever casing the caller submitted
+            String token = jwtUtil.generateToken(user.getEmail(), otpTokenStore.tokenClaims(user.getId(), otp, expiryTime));
+            OtpIssue issue = new OtpIssue(user.getId(), user.getEmail(), otp, token, expiryTime);
+            issues.add(issue);
+            results.add(result(email, BulkOtpResult.Status.QUEUED, issue.token()));
+        }
+
+        if (!issues.isEmpty()) {
+            otpTokenStore.saveAll(issues);
+            emailOutboxService.enqueueOtpEmails(issues);
+            for (OtpIssue issue : issues) {
+                auditLogService.logAction("OTP_REQUEST", "User", issue.userId(),
+                        "Bulk OTP requested for email: " + issue.email(), "SUCCESS");
+            }
+        }
+        log.info("Bulk OTP chunk processed - issued: {}, not found: {}", issues.size(), emails.size() - issues.size());
+        return results;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static BulkOtpResult result(String email, BulkOtpResult.Status status, String token) {
+        return BulkOtpResult.builder()
+                .email(email)
+                .status(status)
+                .token(token)
+                .build();
+    }
+}
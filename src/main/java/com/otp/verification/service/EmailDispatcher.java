@@ -0,0 +1,432 @@
+package com.otp.verification.service;
+
+import com.otp.verification.entity.EmailOutbox;
+import com.otp.verification.mail.SmtpCircuitBreaker;
+import com.otp.verification.mail.SmtpUnavailableException;
+import com.otp.verification.repository.DueOutbox;
+import com.otp.verification.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Delivers queued outbox emails through priority lanes ({@link MailLane}), each with its own queue capacity and
+ * concurrency limit. Workers are shared: they take from the highest lane with queued work, and a lower lane only
+ * starts a send while every higher lane's queue is empty, so OTP mail always goes ahead of bulk mail. Within a lane
+ * the entry whose OTP expires first is sent first, and an OTP that expired before dispatch is marked
+ * {@code EXPIRED} instead of sent. While the {@link SmtpCircuitBreaker} rejects sends, nothing is claimed and
+ * rejected sends are put back without using up an attempt, so an outage leaves mail queued in the outbox instead
+ * of failing it. Rows are claimed with a lease before sending, so a crash between send and
+ * acknowledgement results in a retry (at-least-once delivery). Workers stay on platform threads even in
+ * virtual-thread mode: Jakarta Mail's SMTPTransport holds monitors across socket I/O, which would pin virtual
+ * threads to their carriers.
+ */
+@Component
+@Slf4j
+public class EmailDispatcher {
+
+    private static final Comparator<Job> DEADLINE_FIRST = Comparator
+            .comparing(Job::deadline, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Job::sequence);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final SmtpCircuitBreaker smtpCircuitBreaker;
+    private final Map<MailLane, Lane> lanes = new EnumMap<>(MailLane.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Counter expired;
+    private boolean running = true;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-initial-ms:2000}")
+    private long backoffInitialMs;
+
+    @Value("${email.outbox.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    @Value("${email.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${email.outbox.poll-batch-size:100}")
+    private int pollBatchSize;
+
+    @Value("${email.outbox.messages-per-session:50}")
+    private int messagesPerSession;
+
+    public EmailDispatcher(EmailOutboxRepository emailOutboxRepository,
+                           EmailService emailService,
+                           SmtpCircuitBreaker smtpCircuitBreaker,
+                           MeterRegistry meterRegistry,
+                           @Value("${email.outbox.lanes.otp.concurrency:3}") int otpConcurrency,
+                           @Value("${email.outbox.lanes.otp.queue-capacity:1000}") int otpQueueCapacity,
+                           @Value("${email.outbox.lanes.bulk.concurrency:1}") int bulkConcurrency,
+                           @Value("${email.outbox.lanes.bulk.queue-capacity:1000}") int bulkQueueCapacity) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.smtpCircuitBreaker = smtpCircuitBreaker;
+        lanes.put(MailLane.OTP, new Lane(MailLane.OTP, otpConcurrency, otpQueueCapacity, meterRegistry));
+        lanes.put(MailLane.BULK, new Lane(MailLane.BULK, bulkConcurrency, bulkQueueCapacity, meterRegistry));
+        this.expired = Counter.builder("email.outbox.dispatch.expired")
+                .description("OTP emails dropped because the OTP expired before dispatch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        int workerCount = lanes.values().stream().mapToInt(lane -> lane.concurrency).sum();
+        for (int i = 1; i <= workerCount; i++) {
+            Thread thread = new Thread(this::work, "email-dispatcher-" + i);
+            thread.setDaemon(true);
+            workers.add(thread);
+            thread.start();
+        }
+    }
+
+    public boolean submit(Long outboxId, EmailOutbox.Type type, LocalDateTime expiresAt) {
+        if (!enqueue(MailLane.of(type), List.of(outboxId), expiresAt)) {
+            log.debug("{} lane full, outbox entry {} left for the poller", MailLane.of(type).tag(), outboxId);
+            return false;
+        }
+        return true;
+    }
+
+    public void submitBatch(List<Long> outboxIds, EmailOutbox.Type type, LocalDateTime expiresAt) {
+        MailLane lane = MailLane.of(type);
+        for (int from = 0; from < outboxIds.size(); from += messagesPerSession) {
+            List<Long> chunk = List.copyOf(outboxIds.subList(from, Math.min(from + messagesPerSession, outboxIds.size())));
+            if (!enqueue(lane, chunk, expiresAt)) {
+                log.debug("{} lane full, {} outbox entries left for the poller", lane.tag(), outboxIds.size() - from);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void pollDue() {
+        if (!smtpCircuitBreaker.isCallPermitted()) {
+            return;
+        }
+        for (Lane lane : lanes.values()) {
+            List<DueOutbox> due = emailOutboxRepository.findDue(EmailOutbox.Status.PENDING, lane.lane.types(),
+                    LocalDateTime.now(), PageRequest.of(0, pollBatchSize));
+            for (DueOutbox entry : due) {
+                if (!enqueue(lane.lane, List.of(entry.getId()), entry.getExpiresAt())) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the ids not already queued or being sent in the lane. Capacity counts ids, not jobs, so a batch job
+     * takes as much of it as the same entries submitted one by one.
+     */
+    private boolean enqueue(MailLane mailLane, List<Long> outboxIds, LocalDateTime deadline) {
+        Lane lane = lanes.get(mailLane);
+        lock.lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            List<Long> fresh = outboxIds.stream().filter(id -> !lane.pending.contains(id)).toList();
+            if (fresh.isEmpty()) {
+                return true;
+            }
+            if (lane.queuedIds + fresh.size() > lane.queueCapacity) {
+                return false;
+            }
+            lane.queue.add(new Job(fresh, deadline, sequence.incrementAndGet(), System.nanoTime()));
+            lane.pending.addAll(fresh);
+            lane.queuedIds += fresh.size();
+            workAvailable.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Lane lane;
+            Job job;
+            lock.lock();
+            try {
+                while ((lane = nextLane()) == null) {
+                    if (!running && lanes.values().stream().allMatch(l -> l.queue.isEmpty())) {
+                        return;
+                    }
+                    workAvailable.await();
+                }
+                job = lane.queue.poll();
+                lane.queuedIds -= job.outboxIds().size();
+                lane.active++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            lane.waitTimer.record(System.nanoTime() - job.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            try {
+                if (!smtpCircuitBreaker.isCallPermitted()) {
+                    // left unclaimed; the poller picks these entries up again once the circuit lets sends through
+                    log.debug("SMTP circuit open, outbox entries {} left for the poller", job.outboxIds());
+                } else if (job.outboxIds().size() == 1) {
+                    dispatch(job.outboxIds().get(0));
+                } else {
+                    dispatchBatch(job.outboxIds());
+                }
+            } catch (Exception e) {
+                log.error("Dispatch of outbox entries {} failed; the poller will retry them", job.outboxIds(), e);
+            } finally {
+                lock.lock();
+                try {
+                    lane.active--;
+                    job.outboxIds().forEach(lane.pending::remove);
+                    workAvailable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Highest-priority lane with queued work, or null when it is at its concurrency limit: lower lanes wait rather
+     * than start a send ahead of it.
+     */
+    private Lane nextLane() {
+        for (Lane lane : lanes.values()) {
+            if (!lane.queue.isEmpty()) {
+                return lane.active < lane.concurrency ? lane : null;
+            }
+        }
+        return null;
+    }
+
+    void dispatch(Long outboxId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (emailOutboxRepository.claim(outboxId, EmailOutbox.Status.PENDING, now, now.plus(Duration.ofMillis(leaseMs))) == 0) {
+            return;
+        }
+        emailOutboxRepository.findById(outboxId).ifPresent(this::sendSingle);
+    }
+
+    void dispatchBatch(List<Long> outboxIds) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+        List<Long> claimed = new ArrayList<>(outboxIds.size());
+        for (Long id : outboxIds) {
+            if (emailOutboxRepository.claim(id, EmailOutbox.Status.PENDING, now, leaseUntil) == 1) {
+                claimed.add(id);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        Map<String, EmailOutbox> byRecipient = new LinkedHashMap<>();
+        for (EmailOutbox outbox : emailOutboxRepository.findAllById(claimed)) {
+            if (expireIfDue(outbox, now)) {
+                continue;
+            }
+            if (outbox.getType() != EmailOutbox.Type.OTP || byRecipient.putIfAbsent(outbox.getRecipient(), outbox) != null) {
+                sendSingle(outbox);
+            }
+        }
+        if (byRecipient.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> otpByEmail = new LinkedHashMap<>();
+        byRecipient.forEach((recipient, outbox) -> otpByEmail.put(recipient, outbox.getPayload()));
+        Map<String, Exception> failures = emailService.sendOtpEmails(otpByEmail);
+
+        List<Long> sent = new ArrayList<>(byRecipient.size());
+        byRecipient.forEach((recipient, outbox) -> {
+            Exception failure = failures.get(recipient);
+            if (failure == null) {
+                sent.add(outbox.getId());
+            } else {
+                handleFailure(outbox, failure);
+            }
+        });
+        if (!sent.isEmpty()) {
+            emailOutboxRepository.markAllSent(sent, EmailOutbox.Status.SENT, LocalDateTime.now());
+        }
+    }
+
+    private void sendSingle(EmailOutbox outbox) {
+        if (expireIfDue(outbox, LocalDateTime.now())) {
+            return;
+        }
+        try {
+            send(outbox);
+            emailOutboxRepository.markSent(outbox.getId(), EmailOutbox.Status.SENT, LocalDateTime.now());
+        } catch (Exception e) {
+            handleFailure(outbox, e);
+        }
+    }
+
+    private void send(EmailOutbox outbox) {
+        switch (outbox.getType()) {
+            case OTP -> emailService.sendOtpEmail(outbox.getRecipient(), outbox.getPayload());
+            case WELCOME -> emailService.sendWelcomeEmail(outbox.getRecipient(), outbox.getPayload());
+        }
+    }
+
+    private void handleFailure(EmailOutbox outbox, Exception e) {
+        if (e instanceof SmtpUnavailableException unavailable) {
+            defer(outbox, unavailable);
+            return;
+        }
+        String error = truncate(e.getMessage());
+        if (outbox.getAttempts() >= maxAttempts) {
+            log.error("Giving up on outbox entry {} after {} attempts", outbox.getId(), outbox.getAttempts());
+            emailOutboxRepository.markFinished(outbox.getId(), EmailOutbox.Status.FAILED, LocalDateTime.now(), error);
+            return;
+        }
+        long delayMs = backoffDelayMs(outbox.getAttempts());
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(delayMs));
+        if (outbox.getExpiresAt() != null && !nextAttemptAt.isBefore(outbox.getExpiresAt())) {
+            log.warn("Delivery of outbox entry {} failed and its OTP expires before the next attempt", outbox.getId());
+            expired.increment();
+            emailOutboxRepository.markFinished(outbox.getId(), EmailOutbox.Status.EXPIRED, LocalDateTime.now(), error);
+            return;
+        }
+        log.warn("Delivery of outbox entry {} failed (attempt {}), retrying in {} ms",
+                outbox.getId(), outbox.getAttempts(), delayMs);
+        emailOutboxRepository.markAttemptFailed(outbox.getId(), EmailOutbox.Status.PENDING, nextAttemptAt, error);
+    }
+
+    private void defer(EmailOutbox outbox, SmtpUnavailableException e) {
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(e.getRetryAfter());
+        if (outbox.getExpiresAt() != null && !nextAttemptAt.isBefore(outbox.getExpiresAt())) {
+            expired.increment();
+            emailOutboxRepository.markFinished(outbox.getId(), EmailOutbox.Status.EXPIRED, LocalDateTime.now(),
+                    truncate(e.getMessage()));
+            return;
+        }
+        emailOutboxRepository.defer(outbox.getId(), nextAttemptAt);
+    }
+
+    private boolean expireIfDue(EmailOutbox outbox, LocalDateTime now) {
+        if (outbox.getExpiresAt() == null || outbox.getExpiresAt().isAfter(now)) {
+            return false;
+        }
+        log.info("Dropping outbox entry {}: its OTP expired at {} before dispatch", outbox.getId(), outbox.getExpiresAt());
+        expired.increment();
+        emailOutboxRepository.markFinished(outbox.getId(), EmailOutbox.Status.EXPIRED, now, "Expired before dispatch");
+        return true;
+    }
+
+    private long backoffDelayMs(int attempts) {
+        long delay = backoffInitialMs << Math.min(Math.max(attempts - 1, 0), 20);
+        delay = Math.min(delay, backoffMaxMs);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        if (workers.stream().anyMatch(Thread::isAlive)) {
+            log.warn("Email dispatcher did not drain in time; pending entries will be retried by the next poller");
+            workers.forEach(Thread::interrupt);
+        }
+    }
+
+    private record Job(List<Long> outboxIds, LocalDateTime deadline, long sequence, long enqueuedAtNanos) {
+    }
+
+    /**
+     * Queue and limits of one lane; guarded by the dispatcher lock.
+     */
+    private final class Lane {
+
+        private final MailLane lane;
+        private final int concurrency;
+        private final int queueCapacity;
+        private final PriorityQueue<Job> queue = new PriorityQueue<>(DEADLINE_FIRST);
+        // ids queued or being sent, so the poller does not queue an entry a second time
+        private final Set<Long> pending = new HashSet<>();
+        private final Timer waitTimer;
+        private int queuedIds;
+        private int active;
+
+        private Lane(MailLane lane, int concurrency, int queueCapacity, MeterRegistry registry) {
+            this.lane = lane;
+            this.concurrency = concurrency;
+            this.queueCapacity = queueCapacity;
+            this.waitTimer = Timer.builder("email.outbox.dispatch.wait")
+                    .description("Time outbox entries spend queued before a dispatcher worker picks them up")
+                    .tag("lane", lane.tag())
+                    .register(registry);
+            Gauge.builder("email.outbox.dispatch.queue", this, l -> l.locked(() -> l.queuedIds))
+                    .description("Outbox entries waiting for a dispatcher worker")
+                    .tag("lane", lane.tag())
+                    .register(registry);
+            Gauge.builder("email.outbox.dispatch.active", this, l -> l.locked(() -> l.active))
+                    .description("Dispatcher workers currently sending")
+                    .tag("lane", lane.tag())
+                    .register(registry);
+        }
+
+        private int locked(IntSupplier value) {
+            lock.lock();
+            try {
+                return value.getAsInt();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
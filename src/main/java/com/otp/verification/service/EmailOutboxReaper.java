@@ -0,0 +1,103 @@
+package com.otp.verification.service;
+
+import com.otp.verification.entity.EmailOutbox;
+import com.otp.verification.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes outbox entries that were sent, failed or expired more than {@code retention-ms} ago, in chunks like
+ * {@link OtpTokenReaper}. Pending entries are never touched.
+ */
+@Component
+@Slf4j
+public class EmailOutboxReaper implements MeterBinder {
+
+    private static final List<EmailOutbox.Status> FINISHED =
+            List.of(EmailOutbox.Status.SENT, EmailOutbox.Status.FAILED, EmailOutbox.Status.EXPIRED);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final Duration retention;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int maxChunksPerRun;
+
+    private final AtomicLong totalPurged = new AtomicLong();
+    private volatile int lastRunPurged;
+
+    public EmailOutboxReaper(EmailOutboxRepository emailOutboxRepository,
+                             @Value("${email.outbox.reaper.retention-ms:604800000}") long retentionMs,
+                             @Value("${email.outbox.reaper.chunk-size:500}") int chunkSize,
+                             @Value("${email.outbox.reaper.pause-ms:100}") long pauseMs,
+                             @Value("${email.outbox.reaper.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.retention = Duration.ofMillis(retentionMs);
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.reaper.interval-ms:300000}",
+            initialDelayString = "${email.outbox.reaper.initial-delay-ms:60000}")
+    public void purge() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int purged = 0;
+        int chunks = 0;
+
+        // one pass per status so each chunk query stays on the (status, next_attempt_at) index
+        try {
+            for (EmailOutbox.Status status : FINISHED) {
+                while (chunks < maxChunksPerRun) {
+                    List<Long> ids = emailOutboxRepository.findFinishedIds(status, cutoff, PageRequest.of(0, chunkSize));
+                    if (ids.isEmpty()) {
+                        break;
+                    }
+                    purged += emailOutboxRepository.deleteByIdIn(ids);
+                    chunks++;
+                    if (ids.size() < chunkSize) {
+                        break;
+                    }
+                    Thread.sleep(pauseMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Email outbox purge failed after {} chunks", chunks, e);
+        }
+
+        lastRunPurged = purged;
+        totalPurged.addAndGet(purged);
+        if (purged > 0) {
+            log.info("Purged {} finished outbox entries in {} chunks ({} ms)",
+                    purged, chunks, System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("email.outbox.reaper.purged", totalPurged, AtomicLong::get)
+                .description("Finished outbox entries deleted by the reaper")
+                .register(registry);
+    }
+
+    public int getLastRunPurged() {
+        return lastRunPurged;
+    }
+
+    public long getTotalPurged() {
+        return totalPurged.get();
+    }
+}
@@ -0,0 +1,15 @@
+package com.otp.verification.service;
+
+import com.otp.verification.store.OtpIssue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxService {
+
+    void enqueueOtpEmail(String email, String otp, LocalDateTime expiresAt);
+
+    void enqueueOtpEmails(List<OtpIssue> issues);
+
+    void enqueueWelcomeEmail(String email, String firstName);
+}
@@ -0,0 +1,92 @@
+package com.otp.verification.service;
+
+import com.otp.verification.entity.EmailOutbox;
+import com.otp.verification.repository.EmailOutboxRepository;
+import com.otp.verification.store.OtpIssue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailDispatcher emailDispatcher;
+
+    @Override
+    public void enqueueOtpEmail(String email, String otp, LocalDateTime expiresAt) {
+        EmailOutbox outbox = EmailOutbox.builder()
+                .type(EmailOutbox.Type.OTP)
+                .recipient(email)
+                .payload(otp)
+                .expiresAt(expiresAt)
+                .build();
+
+        outbox = emailOutboxRepository.save(outbox);
+        log.debug("OTP email queued in outbox with id: {}", outbox.getId());
+        dispatchAfterCommit(outbox);
+    }
+
+    @Override
+    public void enqueueOtpEmails(List<OtpIssue> issues) {
+        List<EmailOutbox> entries = issues.stream()
+                .map(issue -> EmailOutbox.builder()
+                        .type(EmailOutbox.Type.OTP)
+                        .recipient(issue.email())
+                        .payload(issue.otp())
+                        .expiresAt(issue.expiryTime())
+                        .build())
+                .toList();
+
+        LocalDateTime earliestExpiry = entries.stream()
+                .map(EmailOutbox::getExpiresAt)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        List<Long> ids = emailOutboxRepository.saveAll(entries).stream()
+                .map(EmailOutbox::getId)
+                .toList();
+        log.debug("{} OTP emails queued in outbox", ids.size());
+        afterCommit(() -> emailDispatcher.submitBatch(ids, EmailOutbox.Type.OTP, earliestExpiry));
+    }
+
+    @Override
+    public void enqueueWelcomeEmail(String email, String firstName) {
+        EmailOutbox outbox = EmailOutbox.builder()
+                .type(EmailOutbox.Type.WELCOME)
+                .recipient(email)
+                .payload(firstName)
+                .build();
+
+        outbox = emailOutboxRepository.save(outbox);
+        log.debug("Welcome email queued in outbox with id: {}", outbox.getId());
+        dispatchAfterCommit(outbox);
+    }
+
+    private void dispatchAfterCommit(EmailOutbox outbox) {
+        Long id = outbox.getId();
+        EmailOutbox.Type type = outbox.getType();
+        LocalDateTime expiresAt = outbox.getExpiresAt();
+        afterCommit(() -> emailDispatcher.submit(id, type, expiresAt));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
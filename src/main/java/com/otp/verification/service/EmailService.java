@@ -1,8 +1,12 @@
 package com.otp.verification.service;
 
+import java.util.Map;
+
 public interface EmailService {
 
     void sendOtpEmail(String email, String otp);
 
+    Map<String, Exception> sendOtpEmails(Map<String, String> otpByEmail);
+
     void sendWelcomeEmail(String email, String firstName);
 }
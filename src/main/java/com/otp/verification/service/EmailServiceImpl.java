@@ -1,34 +1,56 @@
 package com.otp.verification.service;
 
+import com.otp.verification.mail.SmtpCircuitBreaker;
+import com.otp.verification.mail.SmtpUnavailableException;
+import com.otp.verification.mail.template.EmailTemplateEngine;
+import com.otp.verification.mail.template.OtpEmail;
+import com.otp.verification.mail.template.RenderedEmail;
+import com.otp.verification.mail.template.WelcomeEmail;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender javaMailSender;
+    private final EmailTemplateEngine templateEngine;
+    private final SmtpCircuitBreaker smtpCircuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> sendTimers = new ConcurrentHashMap<>();
 
     @Value("${spring.mail.username}")
     private String fromEmail;
 
+    @Value("${email.templates.locale:en}")
+    private Locale locale;
+
     @Override
     public void sendOtpEmail(String email, String otp) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(email);
-            message.setSubject("Your OTP for Email Verification");
-            message.setText("Your OTP is: " + otp + "\n\nThis OTP will expire in 15 minutes.\n\n" +
-                    "If you did not request this OTP, please ignore this email.");
-
-            javaMailSender.send(message);
+            send("otp", buildOtpMessage(email, otp));
             log.info("OTP email sent successfully to: {}", email);
+        } catch (SmtpUnavailableException e) {
+            log.debug("OTP email to {} deferred: {}", email, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send OTP email to: {}", email, e);
             throw new RuntimeException("Failed to send OTP email", e);
@@ -38,20 +60,90 @@ public class EmailServiceImpl implements EmailService {
     @Override
     public void sendWelcomeEmail(String email, String firstName) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(email);
-            message.setSubject("Welcome to OTP Email Verification");
-            message.setText("Hello " + firstName + ",\n\n" +
-                    "Welcome to our OTP Email Verification service. Your email has been successfully verified.\n\n" +
-                    "You can now access all features of our application.\n\n" +
-                    "Best regards,\nOTP Verification Team");
-
-            javaMailSender.send(message);
+            send("welcome", buildMessage(email,
+                    templateEngine.render(WelcomeEmail.TEMPLATE, locale, new WelcomeEmail(firstName))));
             log.info("Welcome email sent successfully to: {}", email);
+        } catch (SmtpUnavailableException e) {
+            log.debug("Welcome email to {} deferred: {}", email, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send welcome email to: {}", email, e);
             throw new RuntimeException("Failed to send welcome email", e);
         }
     }
+
+    @Override
+    public Map<String, Exception> sendOtpEmails(Map<String, String> otpByEmail) {
+        Map<MimeMessage, String> recipients = new IdentityHashMap<>();
+        MimeMessage[] messages = new MimeMessage[otpByEmail.size()];
+        try {
+            int i = 0;
+            for (Map.Entry<String, String> entry : otpByEmail.entrySet()) {
+                messages[i] = buildOtpMessage(entry.getKey(), entry.getValue());
+                recipients.put(messages[i++], entry.getKey());
+            }
+            send("otp", messages);
+            log.info("Sent {} OTP emails over one SMTP session", messages.length);
+            return Map.of();
+        } catch (MailSendException e) {
+            Map<String, Exception> failures = new HashMap<>();
+            e.getFailedMessages().forEach((message, cause) ->
+                    failures.put(recipients.get(message), cause));
+            if (failures.isEmpty()) {
+                otpByEmail.keySet().forEach(email -> failures.put(email, e));
+            }
+            log.error("Failed to send {} of {} OTP emails", failures.size(), messages.length, e);
+            return failures;
+        } catch (SmtpUnavailableException e) {
+            log.debug("Batch of {} OTP emails deferred: {}", messages.length, e.getMessage());
+            Map<String, Exception> failures = new HashMap<>();
+            otpByEmail.keySet().forEach(email -> failures.put(email, e));
+            return failures;
+        } catch (Exception e) {
+            log.error("Failed to send batch of {} OTP emails", messages.length, e);
+            Map<String, Exception> failures = new HashMap<>();
+            otpByEmail.keySet().forEach(email -> failures.put(email, e));
+            return failures;
+        }
+    }
+
+    private MimeMessage buildOtpMessage(String email, String otp) throws MessagingException {
+        return buildMessage(email, templateEngine.render(OtpEmail.TEMPLATE, locale,
+                new OtpEmail(otp, AuthServiceImpl.OTP_EXPIRATION_MINUTES)));
+    }
+
+    private MimeMessage buildMessage(String email, RenderedEmail content) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, content.html() != null, StandardCharsets.UTF_8.name());
+        helper.setFrom(fromEmail);
+        helper.setTo(email);
+        helper.setSubject(content.subject());
+        if (content.html() != null) {
+            helper.setText(content.text(), content.html());
+        } else {
+            helper.setText(content.text());
+        }
+        return message;
+    }
+
+    private void send(String type, MimeMessage... messages) {
+        smtpCircuitBreaker.execute(messages.length, () -> {
+            long start = System.nanoTime();
+            String outcome = "FAILED";
+            try {
+                javaMailSender.send(messages);
+                outcome = "SUCCESS";
+            } finally {
+                sendTimer(type, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private Timer sendTimer(String type, String outcome) {
+        return sendTimers.computeIfAbsent(type + ':' + outcome, key -> Timer.builder("mail.smtp.send")
+                .description("SMTP send latency")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
 }
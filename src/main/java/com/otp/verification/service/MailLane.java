@@ -0,0 +1,31 @@
+package com.otp.verification.service;
+
+import com.otp.verification.entity.EmailOutbox;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dispatch lanes in priority order: a lane only starts work while every lane before it has an empty queue.
+ */
+public enum MailLane {
+    OTP,
+    BULK;
+
+    public static MailLane of(EmailOutbox.Type type) {
+        return switch (type) {
+            case OTP -> OTP;
+            case WELCOME -> BULK;
+        };
+    }
+
+    public List<EmailOutbox.Type> types() {
+        return Arrays.stream(EmailOutbox.Type.values())
+                .filter(type -> of(type) == this)
+                .toList();
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,97 @@
+package com.otp.verification.service;
+
+import com.otp.verification.repository.OtpTokenRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+@ConditionalOnProperty(name = "otp.store.type", havingValue = "jpa")
+@Slf4j
+public class OtpTokenReaper implements MeterBinder {
+
+    private final OtpTokenRepository otpTokenRepository;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int maxChunksPerRun;
+
+    private final AtomicLong totalPurged = new AtomicLong();
+    private volatile int lastRunPurged;
+
+    public OtpTokenReaper(OtpTokenRepository otpTokenRepository,
+                          @Value("${otp.reaper.chunk-size:500}") int chunkSize,
+                          @Value("${otp.reaper.pause-ms:100}") long pauseMs,
+                          @Value("${otp.reaper.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this.otpTokenRepository = otpTokenRepository;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${otp.reaper.interval-ms:60000}", initialDelayString = "${otp.reaper.initial-delay-ms:30000}")
+    public void purge() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        int chunks = 0;
+
+        // one pass per predicate so each chunk query can use its own index instead of an OR scan
+        List<Function<Pageable, List<Long>>> sources = List.of(
+                pageable -> otpTokenRepository.findExpiredIds(now, pageable),
+                otpTokenRepository::findUsedIds);
+        try {
+            for (Function<Pageable, List<Long>> source : sources) {
+                while (chunks < maxChunksPerRun) {
+                    List<Long> ids = source.apply(PageRequest.of(0, chunkSize));
+                    if (ids.isEmpty()) {
+                        break;
+                    }
+                    purged += otpTokenRepository.deleteByIdIn(ids);
+                    chunks++;
+                    if (ids.size() < chunkSize) {
+                        break;
+                    }
+                    Thread.sleep(pauseMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("OTP token purge failed after {} chunks", chunks, e);
+        }
+
+        lastRunPurged = purged;
+        totalPurged.addAndGet(purged);
+        if (purged > 0) {
+            log.info("Purged {} expired or used OTP tokens in {} chunks ({} ms)",
+                    purged, chunks, System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("otp.reaper.purged", totalPurged, AtomicLong::get)
+                .description("OTP tokens deleted by the reaper")
+                .register(registry);
+    }
+
+    public int getLastRunPurged() {
+        return lastRunPurged;
+    }
+
+    public long getTotalPurged() {
+        return totalPurged.get();
+    }
+}
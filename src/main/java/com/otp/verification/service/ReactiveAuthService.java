@@ -0,0 +1,23 @@
+package com.otp.verification.service;
+
+import com.otp.verification.dto.AuthResponse;
+import com.otp.verification.dto.BulkOtpResult;
+import com.otp.verification.dto.OtpVerificationRequest;
+import com.otp.verification.dto.RegisterRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveAuthService {
+
+    Mono<AuthResponse> register(RegisterRequest request, String clientIp);
+
+    Mono<AuthResponse> requestOtp(String email, String clientIp);
+
+    Flux<BulkOtpResult> requestOtps(List<String> emails, String clientIp);
+
+    Mono<AuthResponse> verifyOtp(OtpVerificationRequest request, String clientIp);
+
+    Mono<AuthResponse> login(String email, String password, String clientIp);
+}
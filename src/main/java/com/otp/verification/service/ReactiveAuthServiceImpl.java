@@ -0,0 +1,227 @@
+package com.otp.verification.service;
+
+import com.otp.verification.cache.UserLookupCache;
+import com.otp.verification.dto.AuthResponse;
+import com.otp.verification.dto.BulkOtpResult;
+import com.otp.verification.dto.OtpVerificationRequest;
+import com.otp.verification.dto.RegisterRequest;
+import com.otp.verification.entity.User;
+import com.otp.verification.exception.InvalidOtpException;
+import com.otp.verification.exception.ServiceOverloadedException;
+import com.otp.verification.exception.UserAlreadyExistsException;
+import com.otp.verification.exception.UserNotFoundException;
+import com.otp.verification.repository.UserRepository;
+import com.otp.verification.security.BoundedPasswordEncoder;
+import com.otp.verification.security.PasswordRehasher;
+import com.otp.verification.util.IpAddressUtil;
+import com.otp.verification.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reactive front end to the auth flows. Database work still goes through the JPA repositories and
+ * {@link AuthService}, but on a bounded scheduler sized to the connection pool rather than on event-loop threads,
+ * and BCrypt in register and login completes on the hashing pool without holding any thread while it waits. OTP
+ * emails already leave through the outbox, so no flow waits on SMTP.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveAuthServiceImpl implements ReactiveAuthService, DisposableBean {
+
+    private final AuthService authService;
+    private final BulkOtpService bulkOtpService;
+    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final PasswordRehasher passwordRehasher;
+    private final JwtUtil jwtUtil;
+    private final AuditLogService auditLogService;
+    private final IpAddressUtil ipAddressUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Scheduler blockingScheduler;
+
+    public ReactiveAuthServiceImpl(AuthService authService,
+                                   BulkOtpService bulkOtpService,
+                                   UserRepository userRepository,
+                                   UserLookupCache userLookupCache,
+                                   BoundedPasswordEncoder passwordEncoder,
+                                   PasswordRehasher passwordRehasher,
+                                   JwtUtil jwtUtil,
+                                   AuditLogService auditLogService,
+                                   IpAddressUtil ipAddressUtil,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auth.reactive.blocking-threads:10}") int blockingThreads,
+                                   @Value("${auth.reactive.blocking-queue-capacity:1000}") int blockingQueueCapacity) {
+        this.authService = authService;
+        this.bulkOtpService = bulkOtpService;
+        this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordRehasher = passwordRehasher;
+        this.jwtUtil = jwtUtil;
+        this.auditLogService = auditLogService;
+        this.ipAddressUtil = ipAddressUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.blockingScheduler = Schedulers.newBoundedElastic(blockingThreads, blockingQueueCapacity, "auth-blocking");
+    }
+
+    @Override
+    public Mono<AuthResponse> register(RegisterRequest request, String clientIp) {
+        Mono<AuthResponse> response = blocking(clientIp, () -> userLookupCache.findByEmail(request.getEmail()).isPresent())
+                .flatMap(exists -> exists
+                        ? Mono.<String>error(new UserAlreadyExistsException("User with email " + request.getEmail() + " already exists"))
+                        : Mono.fromFuture(() -> passwordEncoder.encodeAsync(request.getPassword())))
+                .flatMap(passwordHash -> blocking(clientIp, () -> {
+                    User user = transactionTemplate.execute(status -> {
+                        User saved = userRepository.save(User.builder()
+                                .email(request.getEmail())
+                                .password(passwordHash)
+                                .firstName(request.getFirstName())
+                                .lastName(request.getLastName())
+                                .emailVerified(false)
+                                .build());
+                        userLookupCache.invalidate(request.getEmail());
+                        return saved;
+                    });
+                    log.info("User registered successfully: {}", request.getEmail());
+                    auditLogService.logAction("USER_REGISTRATION", "User", user.getId(),
+                            "User registration initiated for email: " + request.getEmail(), "SUCCESS");
+                    return AuthResponse.builder()
+                            .message("User registered successfully. Please verify your email.")
+                            .success(true)
+                            .user(AuthServiceImpl.mapUserToDto(user))
+                            .build();
+                }))
+                .doOnError(UserAlreadyExistsException.class, e -> {
+                    log.warn("Registration failed: {}", e.getMessage());
+                    audit(clientIp, "USER_REGISTRATION", null, "Registration failed: " + request.getEmail(), "FAILED");
+                });
+        return timed("register", response);
+    }
+
+    @Override
+    public Mono<AuthResponse> requestOtp(String email, String clientIp) {
+        return blocking(clientIp, () -> authService.requestOtp(email));
+    }
+
+    @Override
+    public Flux<BulkOtpResult> requestOtps(List<String> emails, String clientIp) {
+        return Flux.<BulkOtpResult>create(sink -> {
+                    try {
+                        ipAddressUtil.callWithClientIp(clientIp, () -> {
+                            bulkOtpService.requestOtps(emails, results -> results.forEach(sink::next));
+                            return null;
+                        });
+                        sink.complete();
+                    } catch (RuntimeException e) {
+                        sink.error(e);
+                    }
+                })
+                .subscribeOn(blockingScheduler)
+                .onErrorMap(RejectedExecutionException.class, ReactiveAuthServiceImpl::overloaded);
+    }
+
+    @Override
+    public Mono<AuthResponse> verifyOtp(OtpVerificationRequest request, String clientIp) {
+        return blocking(clientIp, () -> authService.verifyOtp(request));
+    }
+
+    @Override
+    public Mono<AuthResponse> login(String email, String password, String clientIp) {
+        Mono<AuthResponse> response = blocking(clientIp, () -> userLookupCache.findByEmail(email)
+                        .orElseThrow(() -> new UserNotFoundException("User with email " + email + " not found")))
+                .flatMap(user -> Mono.fromFuture(() -> passwordEncoder.matchesAsync(password, user.passwordHash()))
+                        .flatMap(matches -> {
+                            if (!matches) {
+                                return Mono.error(new InvalidOtpException("Invalid password"));
+                            }
+                            if (!user.emailVerified()) {
+                                return Mono.error(new InvalidOtpException("Email not verified. Please verify your email first."));
+                            }
+                            passwordRehasher.rehashIfNeeded(user, password);
+                            return Mono.just(user);
+                        }))
+                .map(user -> {
+                    String token = jwtUtil.generateToken(email);
+                    log.info("User logged in successfully: {}", email);
+                    audit(clientIp, "USER_LOGIN", user.id(), "User login successful", "SUCCESS");
+                    return AuthResponse.builder()
+                            .message("Login successful")
+                            .success(true)
+                            .token(token)
+                            .user(AuthServiceImpl.mapUserToDto(user))
+                            .build();
+                })
+                .doOnError(e -> {
+                    log.warn("Login failed for user: {}", email);
+                    audit(clientIp, "USER_LOGIN", null, "Login failed for email: " + email, "FAILED");
+                });
+        return timed("login", response);
+    }
+
+    @Override
+    public void destroy() {
+        blockingScheduler.dispose();
+    }
+
+    private <T> Mono<T> blocking(String clientIp, Supplier<T> task) {
+        return Mono.fromSupplier(() -> ipAddressUtil.callWithClientIp(clientIp, task))
+                .subscribeOn(blockingScheduler)
+                .onErrorMap(RejectedExecutionException.class, ReactiveAuthServiceImpl::overloaded);
+    }
+
+    private void audit(String clientIp, String action, Long entityId, String details, String status) {
+        ipAddressUtil.callWithClientIp(clientIp, () -> {
+            auditLogService.logAction(action, "User", entityId, details, status);
+            return null;
+        });
+    }
+
+    /**
+     * Records under the same auth.service timer the servlet stack's AuthServiceMetricsAspect uses, for the flows
+     * that do not go through AuthService.
+     */
+    private <T> Mono<T> timed(String method, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono.doOnSuccess(result -> record(method, "SUCCESS", start))
+                    .doOnError(e -> record(method, "FAILED", start));
+        });
+    }
+
+    private void record(String method, String outcome, long start) {
+        timers.computeIfAbsent(method + ':' + outcome, key -> Timer.builder("auth.service")
+                        .description("AuthService call latency")
+                        .tag("method", method)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static ServiceOverloadedException overloaded(Throwable e) {
+        return new ServiceOverloadedException("Service is busy. Please try again later.", e);
+    }
+}
@@ -0,0 +1,71 @@
+package com.otp.verification.store;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hashed timing wheel of keys bucketed by expiry tick. Advancing the wheel hands each key in the
+ * elapsed buckets to a callback, which reports whether the key is still live and must be rescheduled
+ * (for entries that were replaced or whose expiry lies beyond one wheel revolution).
+ */
+class ExpiryWheel {
+
+    private final long tickMs;
+    private final ConcurrentLinkedQueue<long[]>[] buckets;
+    private final ReentrantLock advanceLock = new ReentrantLock();
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    ExpiryWheel(long tickMs, int bucketCount, long nowMs) {
+        this.tickMs = tickMs;
+        this.buckets = new ConcurrentLinkedQueue[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = nowMs / tickMs;
+    }
+
+    void schedule(long key, long expiresAtMs) {
+        long tick = expiresAtMs / tickMs + 1;
+        buckets[(int) (tick % buckets.length)].add(new long[]{key, expiresAtMs});
+    }
+
+    int advance(long nowMs, ExpiryHandler handler) {
+        if (!advanceLock.tryLock()) {
+            return 0;
+        }
+        try {
+            return advanceLocked(nowMs, handler);
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+
+    private int advanceLocked(long nowMs, ExpiryHandler handler) {
+        long currentTick = nowMs / tickMs;
+        int expired = 0;
+        long ticks = Math.min(currentTick - lastTick, buckets.length);
+        for (long t = 1; t <= ticks; t++) {
+            ConcurrentLinkedQueue<long[]> bucket = buckets[(int) ((lastTick + t) % buckets.length)];
+            int size = bucket.size();
+            for (int i = 0; i < size; i++) {
+                long[] slot = bucket.poll();
+                if (slot == null) {
+                    break;
+                }
+                if (slot[1] > nowMs) {
+                    schedule(slot[0], slot[1]);
+                } else if (handler.expire(slot[0], nowMs)) {
+                    expired++;
+                }
+            }
+        }
+        lastTick = currentTick;
+        return expired;
+    }
+
+    @FunctionalInterface
+    interface ExpiryHandler {
+        boolean expire(long key, long nowMs);
+    }
+}
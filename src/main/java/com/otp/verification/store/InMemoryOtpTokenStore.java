@@ -0,0 +1,168 @@
+package com.otp.verification.store;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-node OTP store keeping one outstanding OTP per user in lock-striped shards.
+ * Entries are fixed-size and expired by a timing wheel rather than by scanning.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store.type", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryOtpTokenStore implements OtpTokenStore, MeterBinder {
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final int maxEntriesPerShard;
+    private final ExpiryWheel expiryWheel;
+
+    public InMemoryOtpTokenStore(@Value("${otp.store.memory.shards:64}") int shardCount,
+                                 @Value("${otp.store.memory.max-entries:1000000}") int maxEntries,
+                                 @Value("${otp.store.memory.tick-ms:1000}") long tickMs,
+                                 @Value("${otp.store.memory.wheel-size:1024}") int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1;
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = size - 1;
+        this.maxEntriesPerShard = Math.max(1, maxEntries / size);
+        this.expiryWheel = new ExpiryWheel(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    @Override
+    public void save(Long userId, String otp, String token, LocalDateTime expiryTime) {
+        long expiresAtMs = expiryTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Entry entry = new Entry(Integer.parseInt(otp), expiresAtMs);
+
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            if (shard.entries.size() >= maxEntriesPerShard && !shard.entries.containsKey(userId)) {
+                shard.purgeExpired(System.currentTimeMillis());
+                if (shard.entries.size() >= maxEntriesPerShard) {
+                    throw new IllegalStateException("OTP store capacity exceeded");
+                }
+            }
+            shard.entries.put(userId, entry);
+        } finally {
+            shard.lock.unlock();
+        }
+        expiryWheel.schedule(userId, expiresAtMs);
+    }
+
+    @Override
+    public OtpVerificationOutcome verify(Long userId, String otp, String token, int maxAttempts) {
+        int code;
+        try {
+            code = Integer.parseInt(otp);
+        } catch (NumberFormatException e) {
+            return OtpVerificationOutcome.INVALID;
+        }
+
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(userId);
+            if (entry == null) {
+                return OtpVerificationOutcome.INVALID;
+            }
+            if (System.currentTimeMillis() > entry.expiresAtMs) {
+                shard.entries.remove(userId);
+                return OtpVerificationOutcome.EXPIRED;
+            }
+            if (entry.attempts >= maxAttempts) {
+                return OtpVerificationOutcome.MAX_ATTEMPTS_EXCEEDED;
+            }
+            if (entry.otp != code) {
+                entry.attempts++;
+                return OtpVerificationOutcome.INVALID;
+            }
+            shard.entries.remove(userId);
+            return OtpVerificationOutcome.VERIFIED;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${otp.store.memory.tick-ms:1000}")
+    public void expireEntries() {
+        int expired = expiryWheel.advance(System.currentTimeMillis(), this::expire);
+        if (expired > 0) {
+            log.debug("Expired {} in-memory OTP entries", expired);
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                total += shard.entries.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("otp.store.entries", this, InMemoryOtpTokenStore::size)
+                .description("Outstanding OTPs held in memory")
+                .register(registry);
+    }
+
+    private boolean expire(long userId, long nowMs) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(userId);
+            if (entry != null && entry.expiresAtMs <= nowMs) {
+                shard.entries.remove(userId);
+                return true;
+            }
+            return false;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private Shard shardFor(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return shards[(int) (h ^ (h >>> 32)) & shardMask];
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Entry> entries = new HashMap<>();
+
+        private void purgeExpired(long nowMs) {
+            entries.values().removeIf(entry -> entry.expiresAtMs <= nowMs);
+        }
+    }
+
+    private static final class Entry {
+        private final int otp;
+        private final long expiresAtMs;
+        private int attempts;
+
+        private Entry(int otp, long expiresAtMs) {
+            this.otp = otp;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.otp.verification.store;
+
+import com.otp.verification.entity.OtpToken;
+import com.otp.verification.repository.OtpTokenRepository;
+import com.otp.verification.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "otp.store.type", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaOtpTokenStore implements OtpTokenStore {
+
+    private static final String INSERT_SQL = "INSERT INTO otp_tokens " +
+            "(user_id, token, otp, expiry_time, is_used, attempt_count, created_at) VALUES (?, ?, ?, ?, false, 0, ?)";
+
+    private final OtpTokenRepository otpTokenRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(Long userId, String otp, String token, LocalDateTime expiryTime) {
+        OtpToken otpToken = OtpToken.builder()
+                .user(userRepository.getReferenceById(userId))
+                .otp(otp)
+                .token(token)
+                .expiryTime(expiryTime)
+                .build();
+
+        otpTokenRepository.save(otpToken);
+    }
+
+    @Override
+    public void saveAll(List<OtpIssue> issues) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, issues, issues.size(), (ps, issue) -> {
+            ps.setLong(1, issue.userId());
+            ps.setString(2, issue.token());
+            ps.setString(3, issue.otp());
+            ps.setTimestamp(4, Timestamp.valueOf(issue.expiryTime()));
+            ps.setTimestamp(5, createdAt);
+        });
+    }
+
+    @Override
+    public OtpVerificationOutcome verify(Long userId, String otp, String token, int maxAttempts) {
+        LocalDateTime now = LocalDateTime.now();
+        if (otpTokenRepository.consume(userId, otp, now, maxAttempts) > 0) {
+            return OtpVerificationOutcome.VERIFIED;
+        }
+
+        // Failure path only: work out why the conditional update matched nothing
+        List<OtpToken> candidates = otpTokenRepository.findUnusedMatchingOrActive(userId, otp, now);
+        Optional<OtpToken> match = candidates.stream()
+                .filter(candidate -> candidate.getOtp().equals(otp))
+                .findFirst();
+        if (match.isPresent() && !match.get().getExpiryTime().isAfter(now)) {
+            return OtpVerificationOutcome.EXPIRED;
+        }
+        boolean exhausted = candidates.stream()
+                .anyMatch(candidate -> candidate.getExpiryTime().isAfter(now) && candidate.getAttemptCount() >= maxAttempts);
+        if (exhausted) {
+            return OtpVerificationOutcome.MAX_ATTEMPTS_EXCEEDED;
+        }
+
+        otpTokenRepository.incrementAttempts(userId, now);
+        return OtpVerificationOutcome.INVALID;
+    }
+}
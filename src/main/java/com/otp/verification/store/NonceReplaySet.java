@@ -0,0 +1,66 @@
+package com.otp.verification.store;
+
+import com.otp.verification.exception.ServiceOverloadedException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-nonce attempt counters grouped into buckets by the token's expiry. A nonce only has to be remembered until
+ * its token expires, so whole buckets are dropped once their window has passed.
+ */
+class NonceReplaySet {
+
+    static final int CONSUMED = -1;
+
+    private final long bucketMs;
+    private final int maxNonces;
+    private final ConcurrentSkipListMap<Long, Map<String, AtomicInteger>> buckets = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    NonceReplaySet(long bucketMs, int maxNonces) {
+        this.bucketMs = bucketMs;
+        this.maxNonces = maxNonces;
+    }
+
+    /**
+     * Returns the attempt counter for {@code nonce}: the number of failed attempts, or {@link #CONSUMED}. A full set
+     * sheds new nonces with a 503 rather than evicting live ones, which would reopen them to replay.
+     */
+    AtomicInteger state(String nonce, long expiresAtMs) {
+        Map<String, AtomicInteger> bucket = buckets.computeIfAbsent(expiresAtMs / bucketMs, key -> new ConcurrentHashMap<>());
+        AtomicInteger existing = bucket.get(nonce);
+        if (existing != null) {
+            return existing;
+        }
+        if (size.get() >= maxNonces && purgeExpired(System.currentTimeMillis()) == 0 && size.get() >= maxNonces) {
+            throw new ServiceOverloadedException("Too many pending OTP verifications. Please try again later.");
+        }
+        AtomicInteger created = new AtomicInteger();
+        existing = bucket.putIfAbsent(nonce, created);
+        if (existing != null) {
+            return existing;
+        }
+        size.incrementAndGet();
+        return created;
+    }
+
+    int purgeExpired(long nowMs) {
+        int purged = 0;
+        Map<Long, Map<String, AtomicInteger>> expired = buckets.headMap(nowMs / bucketMs);
+        for (Long key : expired.keySet()) {
+            Map<String, AtomicInteger> bucket = buckets.remove(key);
+            if (bucket != null) {
+                purged += bucket.size();
+            }
+        }
+        size.addAndGet(-purged);
+        return purged;
+    }
+
+    int size() {
+        return size.get();
+    }
+}
@@ -0,0 +1,6 @@
+package com.otp.verification.store;
+
+import java.time.LocalDateTime;
+
+public record OtpIssue(Long userId, String email, String otp, String token, LocalDateTime expiryTime) {
+}
@@ -0,0 +1,25 @@
+package com.otp.verification.store;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface OtpTokenStore {
+
+    void save(Long userId, String otp, String token, LocalDateTime expiryTime);
+
+    default void saveAll(List<OtpIssue> issues) {
+        for (OtpIssue issue : issues) {
+            save(issue.userId(), issue.otp(), issue.token(), issue.expiryTime());
+        }
+    }
+
+    /**
+     * Extra claims to sign into the token returned from requestOtp; stores that keep server-side state add none.
+     */
+    default Map<String, Object> tokenClaims(Long userId, String otp, LocalDateTime expiryTime) {
+        return Map.of();
+    }
+
+    OtpVerificationOutcome verify(Long userId, String otp, String token, int maxAttempts);
+}
@@ -0,0 +1,8 @@
+package com.otp.verification.store;
+
+public enum OtpVerificationOutcome {
+    VERIFIED,
+    INVALID,
+    EXPIRED,
+    MAX_ATTEMPTS_EXCEEDED
+}
@@ -0,0 +1,165 @@
+package com.otp.verification.store;
+
+import com.otp.verification.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps no OTP rows: the token returned by requestOtp carries an HMAC of the OTP, its expiry and a nonce, and
+ * verification checks the submitted code against those signed claims. The only server state is the
+ * {@link NonceReplaySet} that rejects replays and counts failed attempts per token.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store.type", havingValue = "stateless")
+@Slf4j
+public class StatelessOtpTokenStore implements OtpTokenStore, MeterBinder {
+
+    static final String CLAIM_USER = "uid";
+    static final String CLAIM_NONCE = "otp_nonce";
+    static final String CLAIM_EXPIRES = "otp_exp";
+    static final String CLAIM_MAC = "otp_mac";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final JwtUtil jwtUtil;
+    private final NonceReplaySet replaySet;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> mac;
+
+    public StatelessOtpTokenStore(JwtUtil jwtUtil,
+                                  @Value("${otp.store.stateless.secret:${jwt.secret}}") String secret,
+                                  @Value("${otp.store.stateless.bucket-ms:60000}") long bucketMs,
+                                  @Value("${otp.store.stateless.max-nonces:1000000}") int maxNonces) {
+        this.jwtUtil = jwtUtil;
+        this.replaySet = new NonceReplaySet(bucketMs, maxNonces);
+        SecretKeySpec key = new SecretKeySpec(("otp:" + secret).getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Override
+    public Map<String, Object> tokenClaims(Long userId, String otp, LocalDateTime expiryTime) {
+        byte[] nonceBytes = new byte[16];
+        random.nextBytes(nonceBytes);
+        String nonce = Base64.getUrlEncoder().withoutPadding().encodeToString(nonceBytes);
+        long expiresAtMs = toEpochMillis(expiryTime);
+        return Map.of(
+                CLAIM_USER, userId,
+                CLAIM_NONCE, nonce,
+                CLAIM_EXPIRES, expiresAtMs,
+                CLAIM_MAC, Base64.getUrlEncoder().withoutPadding().encodeToString(mac(userId, nonce, expiresAtMs, otp)));
+    }
+
+    @Override
+    public void save(Long userId, String otp, String token, LocalDateTime expiryTime) {
+        // everything needed for verification travels in the token
+    }
+
+    @Override
+    public void saveAll(List<OtpIssue> issues) {
+    }
+
+    @Override
+    public OtpVerificationOutcome verify(Long userId, String otp, String token, int maxAttempts) {
+        if (token == null || token.isBlank()) {
+            return OtpVerificationOutcome.INVALID;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.getAllClaimsFromToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected OTP token: {}", e.getMessage());
+            return OtpVerificationOutcome.INVALID;
+        }
+        if (!(claims.get(CLAIM_USER) instanceof Number tokenUserId) || tokenUserId.longValue() != userId
+                || !(claims.get(CLAIM_EXPIRES) instanceof Number expires)
+                || !(claims.get(CLAIM_NONCE) instanceof String nonce)
+                || !(claims.get(CLAIM_MAC) instanceof String expectedMac)) {
+            return OtpVerificationOutcome.INVALID;
+        }
+
+        long expiresAtMs = expires.longValue();
+        if (System.currentTimeMillis() >= expiresAtMs) {
+            return OtpVerificationOutcome.EXPIRED;
+        }
+
+        byte[] expected;
+        try {
+            expected = Base64.getUrlDecoder().decode(expectedMac);
+        } catch (IllegalArgumentException e) {
+            return OtpVerificationOutcome.INVALID;
+        }
+        boolean matches = MessageDigest.isEqual(expected, mac(userId, nonce, expiresAtMs, otp));
+
+        AtomicInteger attempts = replaySet.state(nonce, expiresAtMs);
+        while (true) {
+            int current = attempts.get();
+            if (current == NonceReplaySet.CONSUMED) {
+                return OtpVerificationOutcome.INVALID;
+            }
+            if (current >= maxAttempts) {
+                return OtpVerificationOutcome.MAX_ATTEMPTS_EXCEEDED;
+            }
+            if (matches) {
+                if (attempts.compareAndSet(current, NonceReplaySet.CONSUMED)) {
+                    return OtpVerificationOutcome.VERIFIED;
+                }
+            } else if (attempts.compareAndSet(current, current + 1)) {
+                return OtpVerificationOutcome.INVALID;
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${otp.store.stateless.bucket-ms:60000}")
+    public void purgeExpiredNonces() {
+        int purged = replaySet.purgeExpired(System.currentTimeMillis());
+        if (purged > 0) {
+            log.debug("Purged {} expired OTP nonces", purged);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("otp.store.nonces", replaySet, NonceReplaySet::size)
+                .description("OTP token nonces remembered for replay protection")
+                .register(registry);
+    }
+
+    private byte[] mac(Long userId, String nonce, long expiresAtMs, String otp) {
+        String message = userId + ":" + nonce + ":" + expiresAtMs + ":" + otp;
+        return mac.get().doFinal(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,16 +1,97 @@
 package com.otp.verification.util;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.stereotype.Component;
 
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the client address used for rate limiting and auditing. {@code X-Forwarded-For} is client-controlled, so
+ * it is only read when the peer is one of {@code client-ip.trusted-proxies} (addresses or CIDR ranges), and then the
+ * rightmost hop that is not itself a trusted proxy is taken. With no proxies configured the peer address is used.
+ */
 @Component
 public class IpAddressUtil {
 
+    // only literals reach IpAddressMatcher, which would otherwise resolve host names
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    // the reactive stack has no request bound to the thread, so it hands the address to blocking work here
+    private static final ThreadLocal<String> BOUND_CLIENT_IP = new ThreadLocal<>();
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public IpAddressUtil(@Value("${client-ip.trusted-proxies:}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
     public String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0];
+        return resolve(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+    }
+
+    public String getClientIpAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String peer = remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress() : null;
+        return resolve(peer, request.getHeaders().getFirst("X-Forwarded-For"));
+    }
+
+    public <T> T callWithClientIp(String ipAddress, Supplier<T> task) {
+        String previous = BOUND_CLIENT_IP.get();
+        BOUND_CLIENT_IP.set(ipAddress);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                BOUND_CLIENT_IP.set(previous);
+            } else {
+                BOUND_CLIENT_IP.remove();
+            }
+        }
+    }
+
+    public String getBoundClientIpAddress() {
+        return BOUND_CLIENT_IP.get();
+    }
+
+    String resolve(String peer, String xForwardedFor) {
+        if (peer == null || xForwardedFor == null || xForwardedFor.isBlank() || !isTrusted(peer)) {
+            return peer;
+        }
+        String[] hops = xForwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrusted(hop)) {
+                return hop;
+            }
+        }
+        String first = hops.length > 0 ? hops[0].trim() : "";
+        return first.isEmpty() ? peer : first;
+    }
+
+    private boolean isTrusted(String address) {
+        if (trustedProxies.isEmpty() || !IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
         }
-        return request.getRemoteAddr();
+        return false;
     }
 }
@@ -1,45 +1,102 @@
 package com.otp.verification.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class JwtUtil {
 
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.verified-cache.size:10000}")
+    private int verifiedCacheSize;
+
+    private final Timer signTimer;
+    private final Timer verifyTimer;
+    private final Counter verifiedCacheHits;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.signTimer = Timer.builder("jwt.sign")
+                .description("JWT signing latency")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT signature verification latency")
+                .register(meterRegistry);
+        this.verifiedCacheHits = Counter.builder("jwt.verify.cache.hits")
+                .description("Tokens accepted from the verified-token cache")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokenCache = verifiedCacheSize > 0 ? new VerifiedTokenCache(verifiedCacheSize) : null;
+    }
+
     public String generateToken(String email) {
-        Map<String, Object> claims = new HashMap<>();
+        return generateToken(email, Map.of());
+    }
+
+    public String generateToken(String email, Map<String, Object> extraClaims) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
         claims.put("email", email);
         return createToken(claims, email);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long start = System.nanoTime();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
+        signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     public String getEmailFromToken(String token) {
@@ -51,12 +108,7 @@ public class JwtUtil {
     }
 
     public Claims getAllClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parse(token);
     }
 
     public Boolean isTokenExpired(String token) {
@@ -68,15 +120,80 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token) {
+        if (token == null) {
+            return false;
+        }
+        ByteBuffer digest = null;
+        if (verifiedTokenCache != null) {
+            digest = digest(token);
+            if (verifiedTokenCache.isVerified(digest, System.currentTimeMillis())) {
+                verifiedCacheHits.increment();
+                return true;
+            }
+        }
+
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
+            // the parser rejects expired tokens, so one parse covers signature and expiry
+            Claims claims = parse(token);
+            if (digest != null && claims.getExpiration() != null) {
+                verifiedTokenCache.put(digest, claims.getExpiration().getTime());
+            }
+            return true;
         } catch (Exception e) {
             return false;
         }
     }
+
+    private Claims parse(String token) {
+        long start = System.nanoTime();
+        try {
+            return jwtParser.parseSignedClaims(token).getPayload();
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class VerifiedTokenCache {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<ByteBuffer, Long> entries;
+
+        private VerifiedTokenCache(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Long> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private boolean isVerified(ByteBuffer digest, long nowMs) {
+            lock.lock();
+            try {
+                Long expiresAtMs = entries.get(digest);
+                if (expiresAtMs == null) {
+                    return false;
+                }
+                if (expiresAtMs <= nowMs) {
+                    entries.remove(digest);
+                    return false;
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(ByteBuffer digest, long expiresAtMs) {
+            lock.lock();
+            try {
+                entries.put(digest, expiresAtMs);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
@@ -0,0 +1,17 @@
+-- OTP lookup, consume and failed-attempt updates: user_id = ? AND otp = ? AND is_used = false
+CREATE INDEX idx_otp_tokens_user_otp ON otp_tokens (user_id, otp, is_used);
+-- latest active OTP per user: user_id = ? AND is_used = false ORDER BY created_at DESC
+CREATE INDEX idx_otp_tokens_user_active ON otp_tokens (user_id, is_used, created_at);
+-- reaper: expiry_time < ? and is_used = true, purged in separate chunked passes
+CREATE INDEX idx_otp_tokens_expiry_time ON otp_tokens (expiry_time);
+CREATE INDEX idx_otp_tokens_is_used ON otp_tokens (is_used);
+
+CREATE INDEX idx_audit_logs_entity ON audit_logs (entity_type, entity_id);
+CREATE INDEX idx_audit_logs_action_created ON audit_logs (action, created_at);
+CREATE INDEX idx_audit_logs_created_at ON audit_logs (created_at);
+
+-- outbox poller: status = ? AND next_attempt_at <= ? ORDER BY next_attempt_at
+CREATE INDEX idx_email_outbox_status_next ON email_outbox (status, next_attempt_at);
+
+-- schemas baselined from ddl-auto created entity_id as NOT NULL; failure audits carry no entity
+ALTER TABLE audit_logs MODIFY entity_id BIGINT NULL;
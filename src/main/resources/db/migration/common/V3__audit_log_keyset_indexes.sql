@@ -0,0 +1,3 @@
+-- keyset pages and exports filter by entity and seek on (created_at, id); the primary key rides along in InnoDB
+CREATE INDEX idx_audit_logs_entity_created ON audit_logs (entity_type, entity_id, created_at);
+DROP INDEX idx_audit_logs_entity ON audit_logs;
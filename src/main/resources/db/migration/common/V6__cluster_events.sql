@@ -0,0 +1,10 @@
+-- invalidation and heartbeat events polled by every node when cluster.transport=jdbc; rows expire after retention-ms
+CREATE TABLE cluster_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_type VARCHAR(32) NOT NULL,
+    event_key VARCHAR(255),
+    origin_node VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_cluster_events_created_at ON cluster_events (created_at);
@@ -0,0 +1,3 @@
+-- schemas baselined from ddl-auto created these as VARCHAR(255); the entities declare the wider lengths
+ALTER TABLE audit_logs MODIFY details VARCHAR(1000) NOT NULL;
+ALTER TABLE otp_tokens MODIFY token VARCHAR(500) NOT NULL;
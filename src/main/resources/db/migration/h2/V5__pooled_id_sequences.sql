@@ -0,0 +1,3 @@
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE email_outbox_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- OTP entries carry their token's expiry so the dispatcher can drop them instead of sending a dead code
+ALTER TABLE email_outbox ADD COLUMN expires_at TIMESTAMP(6);
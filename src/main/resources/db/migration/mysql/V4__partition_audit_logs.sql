@@ -0,0 +1,13 @@
+-- MySQL requires the partitioning column in every unique key, including the primary key
+ALTER TABLE audit_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+-- Existing rows (up to the end of the current month) land in p_legacy; AuditLogPartitionManager then splits
+-- monthly partitions off the always-empty p_future and archives partitions past the retention window.
+SET @legacy_until = DATE_FORMAT(CURRENT_DATE + INTERVAL 1 MONTH, '%Y-%m-01');
+SET @partition_ddl = CONCAT(
+        'ALTER TABLE audit_logs PARTITION BY RANGE COLUMNS (created_at) (',
+        'PARTITION p_legacy VALUES LESS THAN (''', @legacy_until, '''), ',
+        'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE partition_stmt FROM @partition_ddl;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
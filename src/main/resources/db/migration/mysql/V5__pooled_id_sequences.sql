@@ -0,0 +1,12 @@
+-- MySQL has no sequences, so Hibernate emulates users_seq and email_outbox_seq with single-row tables and hands out
+-- ids in blocks of 50 (allocationSize). The pooled optimizer treats the stored value as the top of the next block,
+-- so it starts one block past the current maximum id.
+CREATE TABLE users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO users_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM users;
+
+CREATE TABLE email_outbox_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO email_outbox_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM email_outbox;
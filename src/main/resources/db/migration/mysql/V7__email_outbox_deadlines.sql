@@ -0,0 +1,4 @@
+-- OTP entries carry their token's expiry so the dispatcher can drop them instead of sending a dead code
+ALTER TABLE email_outbox
+    MODIFY status ENUM ('PENDING', 'SENT', 'FAILED', 'EXPIRED') NOT NULL,
+    ADD COLUMN expires_at DATETIME(6) NULL;
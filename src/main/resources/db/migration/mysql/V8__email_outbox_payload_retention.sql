@@ -0,0 +1,3 @@
+-- finished entries no longer keep their payload (the OTP itself for OTP mail)
+ALTER TABLE email_outbox MODIFY payload VARCHAR(255) NULL;
+UPDATE email_outbox SET payload = NULL WHERE status <> 'PENDING';
@@ -0,0 +1,301 @@
+package com.otp.verification.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.otp.verification.cache.UserLookupCache;
+import com.otp.verification.cache.UserSummary;
+import com.otp.verification.dto.BulkOtpRequest;
+import com.otp.verification.dto.BulkOtpResult;
+import com.otp.verification.repository.UserRepository;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Forms clusters of several nodes inside one JVM: in-process transports for membership and cache invalidation,
+ * and two JDBC transports sharing the Flyway-managed H2 schema.
+ */
+@JdbcTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cluster;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClusterNodesTest {
+
+    private static final String MEMBERS = "a=http://a/api,b=http://b/api,c=http://c/api";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<InProcessClusterTransport> transports = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        transports.forEach(InProcessClusterTransport::destroy);
+        jdbcTemplate.update("DELETE FROM cluster_events");
+    }
+
+    @Test
+    void ringSpreadsKeysAndOnlyMovesTheDepartedNodesShare() {
+        ConsistentHashRing three = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing two = new ConsistentHashRing(List.of("a", "b"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            String email = "user" + i + "@example.com";
+            String owner = three.owner(email);
+            counts.merge(owner, 1, Integer::sum);
+            if (!owner.equals("c")) {
+                assertThat(two.owner(email)).as("owner of %s", email).isEqualTo(owner);
+            }
+        }
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+    }
+
+    @Test
+    void invalidationOnOneNodeEvictsTheOthers() {
+        String bus = UUID.randomUUID().toString();
+        UserRepository repository = mock(UserRepository.class);
+        UserSummary user = new UserSummary(1L, "shared@example.com", "hash", "Shared", "User", false);
+        when(repository.findSummaryByEmail("shared@example.com")).thenReturn(Optional.of(user));
+
+        UserLookupCache nodeA = cacheNode("a", bus, repository);
+        UserLookupCache nodeB = cacheNode("b", bus, repository);
+        UserLookupCache nodeC = cacheNode("c", bus, repository);
+
+        nodeB.findByEmail("shared@example.com");
+        nodeC.findByEmail("shared@example.com");
+        nodeB.findByEmail("shared@example.com");
+        verify(repository, times(2)).findSummaryByEmail("shared@example.com");
+
+        nodeA.invalidate("Shared@Example.com");
+
+        nodeB.findByEmail("shared@example.com");
+        nodeC.findByEmail("shared@example.com");
+        verify(repository, times(4)).findSummaryByEmail("shared@example.com");
+    }
+
+    @Test
+    void membersAgreeOnOwnersAndSilentNodesDropOut() throws InterruptedException {
+        String bus = UUID.randomUUID().toString();
+        ClusterMembership a = membership("a", bus);
+        ClusterMembership b = membership("b", bus);
+        ClusterMembership c = membership("c", bus);
+
+        Map<String, String> owners = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            String email = "member" + i + "@example.com";
+            owners.put(email, a.owner(email).id());
+            assertThat(b.owner(email).id()).isEqualTo(owners.get(email));
+            assertThat(c.owner(email).id()).isEqualTo(owners.get(email));
+        }
+        assertThat(a.owner("member0@example.com").url()).startsWith("http://");
+
+        Thread.sleep(300);
+        a.heartbeat();
+        b.heartbeat();
+
+        assertThat(a.liveMembers()).containsExactly("a", "b");
+        assertThat(b.liveMembers()).containsExactly("a", "b");
+        owners.forEach((email, previous) -> {
+            String owner = a.owner(email).id();
+            assertThat(owner).isIn("a", "b");
+            if (!previous.equals("c")) {
+                assertThat(owner).isEqualTo(previous);
+            }
+            assertThat(b.owner(email).id()).isEqualTo(owner);
+        });
+    }
+
+    @Test
+    void jdbcTransportDeliversBetweenNodesAndFillsGaps() {
+        JdbcClusterTransport publisher = new JdbcClusterTransport(jdbcTemplate, 500, 10_000, 600_000);
+        JdbcClusterTransport receiver = new JdbcClusterTransport(jdbcTemplate, 500, 10_000, 600_000);
+        List<ClusterEvent> received = new CopyOnWriteArrayList<>();
+        receiver.subscribe(received::add);
+
+        publisher.publish(new ClusterEvent(ClusterEvent.Type.USER_INVALIDATED, "one@example.com", "a"));
+        assertThat(receiver.poll()).isEqualTo(1);
+        assertThat(received).containsExactly(
+                new ClusterEvent(ClusterEvent.Type.USER_INVALIDATED, "one@example.com", "a"));
+
+        // a later id commits first; the earlier one must still be delivered once it becomes visible
+        long lastId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cluster_events", Long.class);
+        insertEvent(lastId + 2, "late@example.com");
+        assertThat(receiver.poll()).isEqualTo(1);
+        insertEvent(lastId + 1, "early@example.com");
+        assertThat(receiver.poll()).isEqualTo(1);
+
+        assertThat(received).extracting(ClusterEvent::key)
+                .containsExactly("one@example.com", "late@example.com", "early@example.com");
+        assertThat(receiver.poll()).isZero();
+    }
+
+    @Test
+    void onlySignedForwardsFromMembersSkipRouting() throws Exception {
+        AtomicReference<Headers> received = new AtomicReference<>();
+        HttpServer owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        owner.createContext("/", exchange -> {
+            received.set(exchange.getRequestHeaders());
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        owner.start();
+        try {
+            String members = "a=http://a/api,b=http://127.0.0.1:" + owner.getAddress().getPort() + "/api";
+            ClusterRouter routerA = router("a", members, "shared-secret");
+            ClusterRouter routerB = router("b", members, "shared-secret");
+            String email = ownedBy(routerA, "b");
+
+            routerA.forward(routerA.remoteOwner(email, Optional.empty()).orElseThrow(),
+                    "/v1/auth/request-otp?email=" + email, email, null, "198.51.100.9", null);
+            Function<String, String> signed = received.get()::getFirst;
+
+            assertThat(routerB.authenticate("/v1/auth/request-otp", email.toUpperCase(), signed))
+                    .contains(new ForwardedCall("a", "198.51.100.9"));
+            assertThat(routerB.authenticate("/v1/auth/verify-otp", email, signed)).isEmpty();
+            assertThat(routerB.authenticate("/v1/auth/request-otp", "other@example.com", signed)).isEmpty();
+            assertThat(router("b", members, "other-secret").authenticate("/v1/auth/request-otp", email, signed))
+                    .isEmpty();
+
+            Map<String, String> spoofed = Map.of(ClusterRouter.FORWARDED_HEADER, "a",
+                    ClusterRouter.CLIENT_IP_HEADER, "203.0.113.1");
+            Optional<ForwardedCall> forged = routerA.authenticate("/v1/auth/request-otp", email, spoofed::get);
+            assertThat(forged).isEmpty();
+            assertThat(routerA.remoteOwner(email, forged)).map(ClusterMember::id).contains("b");
+        } finally {
+            owner.stop(0);
+        }
+    }
+
+    @Test
+    void bulkBatchesAreSplitByOwnerAndSharesVerifyOnTheOwner() throws Exception {
+        AtomicReference<Headers> received = new AtomicReference<>();
+        AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+        HttpServer owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        owner.createContext("/", exchange -> {
+            received.set(exchange.getRequestHeaders());
+            receivedBody.set(exchange.getRequestBody().readAllBytes());
+            byte[] body = "{\"email\":\"x@example.com\",\"status\":\"QUEUED\",\"token\":\"t\"}\n"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+        try {
+            String members = "a=http://a/api,b=http://127.0.0.1:" + owner.getAddress().getPort() + "/api";
+            ClusterRouter routerA = router("a", members, "shared-secret");
+            ClusterRouter routerB = router("b", members, "shared-secret");
+            String remote = ownedBy(routerA, "b");
+            List<String> batch = new ArrayList<>();
+            batch.add("not-an-email");
+            batch.add(remote);
+            batch.add(ownedLocally(routerA));
+
+            BulkRoute route = routerA.routeBulk(batch, Optional.empty());
+            assertThat(route.local()).containsExactly("not-an-email", batch.get(2));
+            assertThat(route.remote()).hasSize(1);
+            ClusterMember memberB = route.remote().keySet().iterator().next();
+            assertThat(memberB.id()).isEqualTo("b");
+            assertThat(route.remote().get(memberB)).containsExactly(remote);
+
+            List<BulkOtpResult> results = routerA.forwardBulkAsync(memberB, List.of(remote), "198.51.100.9", null).join();
+            assertThat(results).extracting(BulkOtpResult::getStatus).containsExactly(BulkOtpResult.Status.QUEUED);
+
+            BulkOtpRequest forwarded = new ObjectMapper().readValue(receivedBody.get(), BulkOtpRequest.class);
+            Optional<ForwardedCall> call = routerB.authenticate(ClusterRouter.BULK_PATH,
+                    ClusterRouter.bulkKey(forwarded.getEmails()), received.get()::getFirst);
+            assertThat(call).contains(new ForwardedCall("a", "198.51.100.9"));
+            assertThat(routerB.routeBulk(forwarded.getEmails(), call).remote()).isEmpty();
+            assertThat(routerB.authenticate(ClusterRouter.BULK_PATH,
+                    ClusterRouter.bulkKey(List.of(remote, "extra@example.com")), received.get()::getFirst)).isEmpty();
+        } finally {
+            owner.stop(0);
+        }
+
+        List<BulkOtpResult> unreachable = router("a", "a=http://a/api,b=http://127.0.0.1:1/api", "shared-secret")
+                .forwardBulkAsync(new ClusterMember("b", "http://127.0.0.1:1/api", false), List.of("u@example.com"),
+                        null, null)
+                .join();
+        assertThat(unreachable).extracting(BulkOtpResult::getStatus).containsExactly(BulkOtpResult.Status.FAILED);
+    }
+
+    private ClusterRouter router(String nodeId, String members, String secret) {
+        ClusterMembership membership = new ClusterMembership(Optional.empty(), new SimpleMeterRegistry(),
+                true, nodeId, List.of(members.split(",")), 128, 10_000);
+        return new ClusterRouter(membership, new ObjectMapper(), new SimpleMeterRegistry(), 2_000, secret, 30_000);
+    }
+
+    private static String ownedBy(ClusterRouter router, String nodeId) {
+        for (int i = 0; ; i++) {
+            String email = "routed" + i + "@example.com";
+            if (router.remoteOwner(email, Optional.empty()).filter(owner -> owner.id().equals(nodeId)).isPresent()) {
+                return email;
+            }
+        }
+    }
+
+    private static String ownedLocally(ClusterRouter router) {
+        for (int i = 0; ; i++) {
+            String email = "local" + i + "@example.com";
+            if (router.remoteOwner(email, Optional.empty()).isEmpty()) {
+                return email;
+            }
+        }
+    }
+
+    private UserLookupCache cacheNode(String nodeId, String bus, UserRepository repository) {
+        UserLookupCache cache = new UserLookupCache(repository, true, 100, 60_000, 5_000);
+        new ClusterCacheInvalidator(cache, transport(bus), nodeId);
+        return cache;
+    }
+
+    private ClusterMembership membership(String nodeId, String bus) {
+        return new ClusterMembership(Optional.of(transport(bus)), new SimpleMeterRegistry(),
+                true, nodeId, List.of(MEMBERS.split(",")), 128, 200);
+    }
+
+    private InProcessClusterTransport transport(String bus) {
+        InProcessClusterTransport transport = new InProcessClusterTransport(bus);
+        transports.add(transport);
+        return transport;
+    }
+
+    private void insertEvent(long id, String key) {
+        jdbcTemplate.update("INSERT INTO cluster_events (id, event_type, event_key, origin_node, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                id, ClusterEvent.Type.USER_INVALIDATED.name(), key, "a", Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.otp.verification.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.SendFailedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmtpCircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void opensOnFailureRateAndRejectsWithoutCallingTheServer() {
+        SmtpCircuitBreaker breaker = breaker(60_000, 1000);
+        for (int i = 0; i < 2; i++) {
+            breaker.execute(1, () -> { });
+        }
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> breaker.execute(1, SmtpCircuitBreakerTest::connectionRefused))
+                    .isInstanceOf(MailSendException.class);
+        }
+        assertThat(breaker.getState()).isEqualTo(SmtpCircuitBreaker.State.OPEN);
+        assertThat(breaker.isCallPermitted()).isFalse();
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> breaker.execute(1, calls::incrementAndGet))
+                .isInstanceOf(SmtpUnavailableException.class)
+                .satisfies(e -> assertThat(((SmtpUnavailableException) e).getRetryAfter().toMillis()).isPositive());
+        assertThat(calls).hasValue(0);
+        assertThat(meterRegistry.get("mail.circuit.state").tag("state", "open").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.circuit.calls").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recipientRejectionsDoNotOpenTheCircuit() {
+        SmtpCircuitBreaker breaker = breaker(60_000, 1000);
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> breaker.execute(1, () -> {
+                throw new MailSendException(Map.of(new Object(), new SendFailedException("550 No such user")));
+            })).isInstanceOf(MailSendException.class);
+        }
+        assertThat(breaker.getState()).isEqualTo(SmtpCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensOnSlowCallsPerMessage() {
+        SmtpCircuitBreaker breaker = breaker(60_000, 20);
+        breaker.execute(10, () -> sleep(60));
+        breaker.execute(10, () -> sleep(60));
+        assertThat(breaker.getState()).isEqualTo(SmtpCircuitBreaker.State.CLOSED);
+
+        for (int i = 0; i < 4; i++) {
+            breaker.execute(1, () -> sleep(40));
+        }
+        assertThat(breaker.getState()).isEqualTo(SmtpCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void probesHalfOpenAndRecovers() throws InterruptedException {
+        SmtpCircuitBreaker breaker = breaker(100, 1000);
+        tripOpen(breaker);
+
+        Thread.sleep(150);
+        assertThat(breaker.isCallPermitted()).isTrue();
+        assertThatThrownBy(() -> breaker.execute(1, SmtpCircuitBreakerTest::connectionRefused))
+                .isInstanceOf(MailSendException.class);
+        assertThat(breaker.getState()).as("failed probe re-opens").isEqualTo(SmtpCircuitBreaker.State.OPEN);
+
+        Thread.sleep(150);
+        breaker.execute(1, () -> { });
+        assertThat(breaker.getState()).isEqualTo(SmtpCircuitBreaker.State.HALF_OPEN);
+        breaker.execute(1, () -> { });
+        assertThat(breaker.getState()).isEqualTo(SmtpCircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.get("mail.circuit.state").tag("state", "closed").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkheadRejectsSendsBeyondItsLimit() throws InterruptedException {
+        SmtpCircuitBreaker breaker = new SmtpCircuitBreaker(meterRegistry, true, 4, 4, 50, 100, 1000, 60_000, 2, 1, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> breaker.execute(1, () -> {
+            started.countDown();
+            await(release);
+        }));
+        holder.start();
+        started.await();
+
+        assertThatThrownBy(() -> breaker.execute(1, () -> { }))
+                .isInstanceOf(SmtpUnavailableException.class)
+                .hasMessageContaining("bulkhead");
+        release.countDown();
+        holder.join();
+        breaker.execute(1, () -> { });
+        assertThat(breaker.getState()).isEqualTo(SmtpCircuitBreaker.State.CLOSED);
+    }
+
+    private SmtpCircuitBreaker breaker(long openDurationMs, long slowCallDurationMs) {
+        return new SmtpCircuitBreaker(meterRegistry, true, 4, 4, 50, 100, slowCallDurationMs, openDurationMs, 2, 4, 0);
+    }
+
+    private static void tripOpen(SmtpCircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> breaker.execute(1, SmtpCircuitBreakerTest::connectionRefused))
+                    .isInstanceOf(MailSendException.class);
+        }
+        assertThat(breaker.getState()).isEqualTo(SmtpCircuitBreaker.State.OPEN);
+    }
+
+    private static void connectionRefused() {
+        throw new MailSendException("Mail server connection failed");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
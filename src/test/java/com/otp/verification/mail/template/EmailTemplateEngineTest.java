@@ -0,0 +1,60 @@
+package com.otp.verification.mail.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateEngineTest {
+
+    @Test
+    void rendersShippedTemplatesAsTextAndHtml() {
+        EmailTemplateEngine engine = new EmailTemplateEngine("classpath*:templates/email/", true);
+
+        RenderedEmail otp = engine.render(OtpEmail.TEMPLATE, Locale.ENGLISH, new OtpEmail("482913", 15));
+        assertThat(otp.subject()).isEqualTo("Your OTP for Email Verification");
+        assertThat(otp.text()).startsWith("Your OTP is: 482913\n").contains("expire in 15 minutes");
+        assertThat(otp.html()).contains(">482913<").contains("expire in 15 minutes");
+
+        RenderedEmail welcome = engine.render(WelcomeEmail.TEMPLATE, Locale.ENGLISH, new WelcomeEmail("Ann <b>&"));
+        assertThat(welcome.text()).startsWith("Hello Ann <b>&,");
+        assertThat(welcome.html()).contains("Hello Ann &lt;b&gt;&amp;,");
+    }
+
+    @Test
+    void resolvesLocaleVariantsAndFallsBackPerPart() {
+        EmailTemplateEngine engine = new EmailTemplateEngine("classpath*:templates/email-locales/", true,
+                List.of(OtpEmail.TEMPLATE));
+        OtpEmail model = new OtpEmail("123456", 10);
+
+        RenderedEmail german = engine.render(OtpEmail.TEMPLATE, Locale.GERMANY, model);
+        assertThat(german.subject()).isEqualTo("Ihr Code 123456");
+        assertThat(german.text()).isEqualTo("Ihr Code 123456 ist 10 Minuten gültig.\n");
+        assertThat(german.html()).isEqualTo("<b>123456</b>\n");
+
+        assertThat(engine.render(OtpEmail.TEMPLATE, Locale.forLanguageTag("pt-BR"), model).subject())
+                .isEqualTo("Seu código 123456");
+        RenderedEmail portuguese = engine.render(OtpEmail.TEMPLATE, Locale.forLanguageTag("pt"), model);
+        assertThat(portuguese.subject()).isEqualTo("Code 123456");
+        assertThat(portuguese.text()).isEqualTo("Code 123456, valid for 10 minutes.\n");
+        assertThat(engine.render(OtpEmail.TEMPLATE, Locale.FRENCH, model).subject()).isEqualTo("Code 123456");
+    }
+
+    @Test
+    void skipsHtmlPartsWhenDisabled() {
+        EmailTemplateEngine engine = new EmailTemplateEngine("classpath*:templates/email/", false);
+
+        assertThat(engine.render(OtpEmail.TEMPLATE, Locale.ENGLISH, new OtpEmail("482913", 15)).html()).isNull();
+    }
+
+    @Test
+    void rejectsVariablesTheModelDoesNotExpose() {
+        assertThatThrownBy(() -> new EmailTemplateEngine("classpath*:templates/email-invalid/", true,
+                List.of(OtpEmail.TEMPLATE)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Unknown variable 'code' in otp.txt");
+    }
+}
@@ -0,0 +1,46 @@
+package com.otp.verification.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedRateLimiterTest {
+
+    @Test
+    void limitsEachKeyToItsCapacity() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(3, 60_000, 1_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("a")).isFalse();
+        assertThat(limiter.tryAcquire("b")).isTrue();
+    }
+
+    @Test
+    void floodOfNewKeysNeitherGrowsTheMapNorThrottlesOtherKeys() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 60_000, 640);
+
+        for (int i = 0; i < 100_000; i++) {
+            limiter.tryAcquire("flood-" + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(640);
+        assertThat(limiter.tryAcquire("victim")).isTrue();
+        assertThat(limiter.tryAcquire("other-victim")).isTrue();
+    }
+
+    @Test
+    void evictsOnlyKeysWhoseBucketHasRefilled() throws InterruptedException {
+        KeyedRateLimiter refilling = new KeyedRateLimiter(1, 1, 1_000);
+        KeyedRateLimiter throttled = new KeyedRateLimiter(1, 60_000, 1_000);
+        refilling.tryAcquire("a");
+        throttled.tryAcquire("a");
+
+        Thread.sleep(5);
+
+        assertThat(refilling.evictIdle()).isEqualTo(1);
+        assertThat(throttled.evictIdle()).isZero();
+        assertThat(throttled.tryAcquire("a")).isFalse();
+    }
+}
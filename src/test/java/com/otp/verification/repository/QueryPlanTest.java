@@ -0,0 +1,169 @@
+package com.otp.verification.repository;
+
+import com.otp.verification.entity.EmailOutbox;
+import com.otp.verification.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each repository query against the Flyway-managed schema, captures the SQL Hibernate emits and
+ * fails if H2's EXPLAIN plan for it falls back to a table scan.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.otp.verification.repository.QueryPlanTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+
+    private static final List<String> RECORDED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OtpTokenRepository otpTokenRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.saveAndFlush(User.builder()
+                .email("plan@example.com")
+                .password("hash")
+                .firstName("Plan")
+                .lastName("Test")
+                .build());
+    }
+
+    @Test
+    void userQueriesUseIndexes() {
+        assertUsesIndexes(() -> userRepository.findByEmail("plan@example.com"));
+        assertUsesIndexes(() -> userRepository.findSummaryByEmail("plan@example.com"));
+        assertUsesIndexes(() -> userRepository.findIdentitiesByEmailIn(List.of("a@example.com", "b@example.com")));
+        assertUsesIndexes(() -> userRepository.markEmailVerified(user.getId(), now));
+        assertUsesIndexes(() -> userRepository.updatePasswordHash(user.getId(), "old-hash", "new-hash", now));
+    }
+
+    @Test
+    void otpTokenQueriesUseIndexes() {
+        assertUsesIndexes(() -> otpTokenRepository.findByUserAndOtpAndIsUsedFalse(user, "123456"));
+        assertUsesIndexes(() -> otpTokenRepository.findLatestValidOtpByUser(user, now));
+        assertUsesIndexes(() -> otpTokenRepository.findByTokenAndUser("token", user));
+        assertUsesIndexes(() -> otpTokenRepository.findByUserAndIsUsedTrue(user));
+        assertUsesIndexes(() -> otpTokenRepository.consume(user.getId(), "123456", now, 3));
+        assertUsesIndexes(() -> otpTokenRepository.incrementAttempts(user.getId(), now));
+        assertUsesIndexes(() -> otpTokenRepository.findUnusedMatchingOrActive(user.getId(), "123456", now));
+        assertUsesIndexes(() -> otpTokenRepository.findExpiredIds(now, PageRequest.of(0, 500)));
+        assertUsesIndexes(() -> otpTokenRepository.findUsedIds(PageRequest.of(0, 500)));
+        assertUsesIndexes(() -> otpTokenRepository.deleteByIdIn(List.of(1L, 2L)));
+    }
+
+    @Test
+    void auditLogQueriesUseIndexes() {
+        assertUsesIndexes(() -> auditLogRepository.findByEntityTypeAndEntityId("User", user.getId()));
+        assertUsesIndexes(() -> auditLogRepository.findByAction("OTP_REQUEST"));
+        assertUsesIndexes(() -> auditLogRepository.findByCreatedAtBetween(now.minusDays(1), now));
+        assertUsesIndexes(() -> auditLogRepository.findPage(now.minusDays(1), now, now.minusDays(1), 0L, PageRequest.of(0, 100)));
+        assertUsesIndexes(() -> auditLogRepository.findPageByAction("OTP_REQUEST", now.minusDays(1), now,
+                now.minusDays(1), 0L, PageRequest.of(0, 100)));
+        assertUsesIndexes(() -> auditLogRepository.findPageByEntity("User", user.getId(), now.minusDays(1), now,
+                now.minusDays(1), 0L, PageRequest.of(0, 100)));
+        assertUsesIndexes(() -> drain(auditLogRepository.streamRange(now.minusDays(1), now)));
+        assertUsesIndexes(() -> drain(auditLogRepository.streamRangeByAction("OTP_REQUEST", now.minusDays(1), now)));
+        assertUsesIndexes(() -> drain(auditLogRepository.streamRangeByEntity("User", user.getId(), now.minusDays(1), now)));
+    }
+
+    @Test
+    void emailOutboxQueriesUseIndexes() {
+        assertUsesIndexes(() -> emailOutboxRepository.findDue(EmailOutbox.Status.PENDING,
+                List.of(EmailOutbox.Type.OTP), now, PageRequest.of(0, 100)));
+        assertUsesIndexes(() -> emailOutboxRepository.claim(1L, EmailOutbox.Status.PENDING, now, now.plusMinutes(1)));
+        assertUsesIndexes(() -> emailOutboxRepository.defer(1L, now.plusMinutes(1)));
+        assertUsesIndexes(() -> emailOutboxRepository.markAllSent(List.of(1L, 2L), EmailOutbox.Status.SENT, now));
+        assertUsesIndexes(() -> emailOutboxRepository.markFinished(1L, EmailOutbox.Status.EXPIRED, now, "expired"));
+        assertUsesIndexes(() -> emailOutboxRepository.findFinishedIds(EmailOutbox.Status.SENT, now, PageRequest.of(0, 500)));
+        assertUsesIndexes(() -> emailOutboxRepository.deleteByIdIn(List.of(1L, 2L)));
+    }
+
+    private void assertUsesIndexes(Runnable query) {
+        entityManager.flush();
+        RECORDED.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(RECORDED);
+
+        assertThat(statements).as("captured SQL").isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(sql)).as("plan for %s", sql).doesNotContain("tableScan");
+        }
+    }
+
+    private void drain(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(ignored -> { });
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+            }
+            return plan.toString();
+        });
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete")) {
+                RECORDED.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.otp.verification.service;
+
+import com.otp.verification.cache.UserLookupCache;
+import com.otp.verification.dto.OtpVerificationRequest;
+import com.otp.verification.entity.EmailOutbox;
+import com.otp.verification.entity.User;
+import com.otp.verification.repository.EmailOutboxRepository;
+import com.otp.verification.repository.UserRepository;
+import com.otp.verification.security.PasswordRehasher;
+import com.otp.verification.store.OtpTokenStore;
+import com.otp.verification.store.OtpVerificationOutcome;
+import com.otp.verification.util.JwtUtil;
+import com.otp.verification.util.OtpUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the JDBC statements Hibernate prepares per auth call, so a regression back to entity loads, dirty-checked
+ * saves or unbatched inserts shows up in {@code mvn test}. Runs outside a test transaction so each call commits
+ * the way it would in production.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AuthServiceImpl.class, UserLookupCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuthStatementCountTest {
+
+    private static final String EMAIL = "statements@example.com";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private OtpTokenStore otpTokenStore;
+
+    @MockBean
+    private EmailOutboxService emailOutboxService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private OtpUtil otpUtil;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private PasswordRehasher passwordRehasher;
+
+    @MockBean
+    private AuditLogService auditLogService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userRepository.save(User.builder()
+                .email(EMAIL)
+                .password("hash")
+                .firstName("Statement")
+                .lastName("Count")
+                .build());
+        userLookupCache.invalidate(EMAIL);
+
+        when(passwordEncoder.matches(any(), anyString())).thenReturn(true);
+        when(jwtUtil.generateToken(anyString())).thenReturn("jwt");
+        when(otpUtil.isValidOtp(anyString())).thenReturn(true);
+        when(otpTokenStore.verify(anyLong(), anyString(), any(), anyInt())).thenReturn(OtpVerificationOutcome.VERIFIED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM email_outbox");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void loginReadsOneProjectionAndWritesNothing() {
+        markVerified();
+        statistics.clear();
+
+        authService.login(EMAIL, "password");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getFlushCount()).isZero();
+
+        authService.login(EMAIL, "password");
+
+        assertThat(statistics.getPrepareStatementCount()).as("second login served from the user cache").isEqualTo(1);
+    }
+
+    @Test
+    void verifyOtpUpdatesOnlyUnverifiedUsers() {
+        statistics.clear();
+        authService.verifyOtp(verification());
+
+        assertThat(statistics.getPrepareStatementCount()).as("lookup and emailVerified update").isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        authService.verifyOtp(verification());
+
+        assertThat(statistics.getPrepareStatementCount()).as("already verified: lookup only").isEqualTo(1);
+        verify(emailOutboxService, times(1)).enqueueWelcomeEmail(eq(EMAIL), any());
+    }
+
+    @Test
+    void staleCachedSummaryDoesNotResendTheWelcomeEmail() {
+        userLookupCache.findByEmail(EMAIL);
+        jdbcTemplate.update("UPDATE users SET email_verified = true WHERE email = ?", EMAIL);
+
+        authService.verifyOtp(verification());
+
+        verify(emailOutboxService, never()).enqueueWelcomeEmail(anyString(), any());
+    }
+
+    @Test
+    void outboxInsertsAreBatched() {
+        List<EmailOutbox> entries = IntStream.range(0, 120)
+                .mapToObj(i -> EmailOutbox.builder()
+                        .type(EmailOutbox.Type.OTP)
+                        .recipient("user" + i + "@example.com")
+                        .payload("123456")
+                        .build())
+                .toList();
+        statistics.clear();
+
+        emailOutboxRepository.saveAll(entries);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // a few pooled sequence calls plus one prepared statement per 50-row batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    private void markVerified() {
+        jdbcTemplate.update("UPDATE users SET email_verified = true WHERE email = ?", EMAIL);
+        userLookupCache.invalidate(EMAIL);
+    }
+
+    private static OtpVerificationRequest verification() {
+        OtpVerificationRequest request = new OtpVerificationRequest();
+        request.setEmail(EMAIL);
+        request.setOtp("123456");
+        return request;
+    }
+}
@@ -0,0 +1,141 @@
+package com.otp.verification.service;
+
+import com.otp.verification.entity.EmailOutbox;
+import com.otp.verification.mail.SmtpCircuitBreaker;
+import com.otp.verification.mail.SmtpUnavailableException;
+import com.otp.verification.repository.DueOutbox;
+import com.otp.verification.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Queues entries before the workers start, so the order in which they are picked up depends only on lanes and
+ * deadlines.
+ */
+class EmailDispatcherTest {
+
+    private final EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final SmtpCircuitBreaker circuitBreaker =
+            new SmtpCircuitBreaker(meterRegistry, true, 20, 10, 50, 80, 3000, 30_000, 2, 4, 0);
+    private final EmailDispatcher dispatcher =
+            new EmailDispatcher(repository, emailService, circuitBreaker, meterRegistry, 1, 100, 1, 100);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void sendsOtpMailByDeadlineAheadOfBulkMail() {
+        LocalDateTime now = LocalDateTime.now();
+        stubOutbox(1L, EmailOutbox.Type.OTP, "late@example.com", now.plusMinutes(10));
+        stubOutbox(2L, EmailOutbox.Type.OTP, "middle@example.com", now.plusMinutes(5));
+        stubOutbox(3L, EmailOutbox.Type.OTP, "early@example.com", now.plusMinutes(1));
+        stubOutbox(4L, EmailOutbox.Type.WELCOME, "welcome@example.com", null);
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(emailService).sendOtpEmail(anyString(), anyString());
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(emailService).sendWelcomeEmail(anyString(), anyString());
+
+        dispatcher.submit(4L, EmailOutbox.Type.WELCOME, null);
+        dispatcher.submit(1L, EmailOutbox.Type.OTP, now.plusMinutes(10));
+        dispatcher.submit(2L, EmailOutbox.Type.OTP, now.plusMinutes(5));
+        dispatcher.submit(3L, EmailOutbox.Type.OTP, now.plusMinutes(1));
+        dispatcher.start();
+
+        verify(repository, timeout(5000)).markSent(eq(4L), eq(EmailOutbox.Status.SENT), any());
+        verify(repository, timeout(5000)).markSent(eq(1L), eq(EmailOutbox.Status.SENT), any());
+        assertThat(sent.subList(0, 2)).containsExactly("early@example.com", "middle@example.com");
+        assertThat(sent).containsSubsequence("early@example.com", "middle@example.com", "late@example.com")
+                .hasSize(4);
+        assertThat(meterRegistry.get("email.outbox.dispatch.wait").tag("lane", "otp").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("email.outbox.dispatch.wait").tag("lane", "bulk").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsOtpMailThatExpiredBeforeDispatch() {
+        LocalDateTime expiredAt = LocalDateTime.now().minusSeconds(1);
+        stubOutbox(7L, EmailOutbox.Type.OTP, "slow@example.com", expiredAt);
+
+        dispatcher.submit(7L, EmailOutbox.Type.OTP, expiredAt);
+        dispatcher.start();
+
+        verify(repository, timeout(5000)).markFinished(eq(7L), eq(EmailOutbox.Status.EXPIRED), any(),
+                eq("Expired before dispatch"));
+        verify(emailService, never()).sendOtpEmail(anyString(), anyString());
+        assertThat(meterRegistry.get("email.outbox.dispatch.expired").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void defersRejectedSendsWithoutUsingAnAttempt() {
+        stubOutbox(8L, EmailOutbox.Type.OTP, "brownout@example.com", LocalDateTime.now().plusMinutes(15));
+        doThrow(new SmtpUnavailableException("SMTP circuit is open", Duration.ofSeconds(30)))
+                .when(emailService).sendOtpEmail(anyString(), anyString());
+
+        dispatcher.submit(8L, EmailOutbox.Type.OTP, LocalDateTime.now().plusMinutes(15));
+        dispatcher.start();
+
+        verify(repository, timeout(5000)).defer(eq(8L), any());
+        verify(repository, never()).markAttemptFailed(eq(8L), any(), any(), any());
+        verify(repository, never()).markFinished(eq(8L), any(), any(), any());
+    }
+
+    @Test
+    void queueCapacityCountsEntriesAndThePollerSkipsQueuedOnes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmailDispatcher small = new EmailDispatcher(repository, emailService, circuitBreaker, registry, 1, 3, 1, 3);
+        ReflectionTestUtils.setField(small, "messagesPerSession", 50);
+        ReflectionTestUtils.setField(small, "pollBatchSize", 100);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(15);
+        List<DueOutbox> due = List.of(due(1L, expiresAt), due(2L, expiresAt));
+        when(repository.findDue(eq(EmailOutbox.Status.PENDING), eq(MailLane.OTP.types()), any(), any())).thenReturn(due);
+
+        small.submitBatch(List.of(1L, 2L, 3L), EmailOutbox.Type.OTP, expiresAt);
+        small.pollDue();
+
+        assertThat(registry.get("email.outbox.dispatch.queue").tag("lane", "otp").gauge().value()).isEqualTo(3);
+        assertThat(small.submit(4L, EmailOutbox.Type.OTP, expiresAt)).as("lane full of batched entries").isFalse();
+    }
+
+    private static DueOutbox due(Long id, LocalDateTime expiresAt) {
+        DueOutbox entry = mock(DueOutbox.class);
+        when(entry.getId()).thenReturn(id);
+        when(entry.getExpiresAt()).thenReturn(expiresAt);
+        return entry;
+    }
+
+    private void stubOutbox(Long id, EmailOutbox.Type type, String recipient, LocalDateTime expiresAt) {
+        EmailOutbox outbox = EmailOutbox.builder()
+                .id(id)
+                .type(type)
+                .recipient(recipient)
+                .payload(type == EmailOutbox.Type.OTP ? "123456" : "Ann")
+                .status(EmailOutbox.Status.PENDING)
+                .attempts(1)
+                .expiresAt(expiresAt)
+                .build();
+        when(repository.claim(eq(id), eq(EmailOutbox.Status.PENDING), any(), any())).thenReturn(1);
+        when(repository.findById(id)).thenReturn(Optional.of(outbox));
+    }
+}
@@ -0,0 +1,38 @@
+package com.otp.verification.store;
+
+import com.otp.verification.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NonceReplaySetTest {
+
+    @Test
+    void purgesOnlyBucketsWhoseWindowHasPassed() {
+        NonceReplaySet replaySet = new NonceReplaySet(1_000, 100);
+        long now = System.currentTimeMillis();
+        replaySet.state("expired-1", now - 5_000);
+        replaySet.state("expired-2", now - 5_000);
+        replaySet.state("live", now + 60_000).set(NonceReplaySet.CONSUMED);
+
+        assertThat(replaySet.purgeExpired(now)).isEqualTo(2);
+        assertThat(replaySet.size()).isEqualTo(1);
+        assertThat(replaySet.state("live", now + 60_000).get()).isEqualTo(NonceReplaySet.CONSUMED);
+    }
+
+    @Test
+    void fullSetPurgesExpiredNoncesBeforeShedding() {
+        NonceReplaySet replaySet = new NonceReplaySet(1_000, 2);
+        long now = System.currentTimeMillis();
+        replaySet.state("expired", now - 5_000);
+        replaySet.state("live", now + 60_000);
+
+        replaySet.state("admitted", now + 60_000);
+        assertThat(replaySet.size()).isEqualTo(2);
+
+        assertThatThrownBy(() -> replaySet.state("shed", now + 60_000))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(replaySet.state("live", now + 60_000)).as("known nonces are still served").isNotNull();
+    }
+}
@@ -0,0 +1,78 @@
+package com.otp.verification.store;
+
+import com.otp.verification.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatelessOtpTokenStoreTest {
+
+    private static final long USER_ID = 42L;
+    private static final String OTP = "123456";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private JwtUtil jwtUtil;
+    private StatelessOtpTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "stateless-otp-store-test-secret-0123456789");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 0);
+        jwtUtil.init();
+        store = new StatelessOtpTokenStore(jwtUtil, "otp-secret", 60_000, 1_000);
+    }
+
+    @Test
+    void verifiedTokenCannotBeReplayed() {
+        String token = token(LocalDateTime.now().plusMinutes(15));
+
+        assertThat(store.verify(USER_ID, OTP, token, MAX_ATTEMPTS)).isEqualTo(OtpVerificationOutcome.VERIFIED);
+        assertThat(store.verify(USER_ID, OTP, token, MAX_ATTEMPTS)).isEqualTo(OtpVerificationOutcome.INVALID);
+    }
+
+    @Test
+    void wrongCodesExhaustTheAttemptLimit() {
+        String token = token(LocalDateTime.now().plusMinutes(15));
+
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            assertThat(store.verify(USER_ID, "000000", token, MAX_ATTEMPTS)).isEqualTo(OtpVerificationOutcome.INVALID);
+        }
+        assertThat(store.verify(USER_ID, OTP, token, MAX_ATTEMPTS)).isEqualTo(OtpVerificationOutcome.MAX_ATTEMPTS_EXCEEDED);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = token(LocalDateTime.now().minusSeconds(1));
+
+        assertThat(store.verify(USER_ID, OTP, token, MAX_ATTEMPTS)).isEqualTo(OtpVerificationOutcome.EXPIRED);
+    }
+
+    @Test
+    void tamperedClaimsAreRejected() {
+        Map<String, Object> claims = new HashMap<>(store.tokenClaims(USER_ID, OTP, LocalDateTime.now().plusMinutes(15)));
+        Map<String, Object> otherUser = new HashMap<>(claims);
+        otherUser.put(StatelessOtpTokenStore.CLAIM_USER, USER_ID + 1);
+        Map<String, Object> forgedMac = new HashMap<>(claims);
+        forgedMac.put(StatelessOtpTokenStore.CLAIM_MAC, "AAAA");
+
+        assertThat(store.verify(USER_ID + 1, OTP, jwtUtil.generateToken("user@example.com", otherUser), MAX_ATTEMPTS))
+                .isEqualTo(OtpVerificationOutcome.INVALID);
+        assertThat(store.verify(USER_ID, OTP, jwtUtil.generateToken("user@example.com", forgedMac), MAX_ATTEMPTS))
+                .isEqualTo(OtpVerificationOutcome.INVALID);
+        assertThat(store.verify(USER_ID + 1, OTP, jwtUtil.generateToken("user@example.com", claims), MAX_ATTEMPTS))
+                .as("token issued to another user").isEqualTo(OtpVerificationOutcome.INVALID);
+    }
+
+    private String token(LocalDateTime expiryTime) {
+        return jwtUtil.generateToken("user@example.com", store.tokenClaims(USER_ID, OTP, expiryTime));
+    }
+}
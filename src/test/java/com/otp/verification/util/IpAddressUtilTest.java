@@ -0,0 +1,49 @@
+package com.otp.verification.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpAddressUtilTest {
+
+    @Test
+    void ignoresForwardedForWithoutTrustedProxies() {
+        IpAddressUtil util = new IpAddressUtil(List.of());
+
+        assertThat(util.getClientIpAddress(request("203.0.113.7", "1.2.3.4"))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void ignoresForwardedForFromUntrustedPeer() {
+        IpAddressUtil util = new IpAddressUtil(List.of("10.0.0.0/8"));
+
+        assertThat(util.getClientIpAddress(request("203.0.113.7", "1.2.3.4"))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void takesRightmostUntrustedHopBehindTrustedProxies() {
+        IpAddressUtil util = new IpAddressUtil(List.of("10.0.0.0/8", "192.168.1.5"));
+
+        // the client prepended a spoofed hop; the load balancer appended the real peer
+        MockHttpServletRequest request = request("10.1.2.3", "1.2.3.4, 198.51.100.9, 192.168.1.5");
+
+        assertThat(util.getClientIpAddress(request)).isEqualTo("198.51.100.9");
+    }
+
+    @Test
+    void fallsBackToLeftmostHopWhenEveryHopIsTrusted() {
+        IpAddressUtil util = new IpAddressUtil(List.of("10.0.0.0/8"));
+
+        assertThat(util.getClientIpAddress(request("10.1.2.3", "10.9.9.9, 10.8.8.8"))).isEqualTo("10.9.9.9");
+    }
+
+    private static MockHttpServletRequest request(String peer, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(peer);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+}